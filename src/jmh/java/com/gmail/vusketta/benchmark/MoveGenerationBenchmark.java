@@ -0,0 +1,80 @@
+package com.gmail.vusketta.benchmark;
+
+import com.gmail.vusketta.*;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.Cell;
+import com.gmail.vusketta.board.ChessBoard;
+import com.gmail.vusketta.perft.Perft;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGenerationBenchmark {
+    @Param({"chess", "bit"})
+    public String board;
+
+    @Param({
+            "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+            "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"
+    })
+    public String fen;
+
+    private Board instance;
+    private Position position;
+    private List<Coordinate> pieces;
+    private Move move;
+    private Coordinate king;
+
+    @Setup
+    public void setUp() {
+        instance = board.equals("chess") ? new ChessBoard(fen) : new BitBoard(fen);
+        position = instance.getPosition();
+        pieces = position.getPieceCoordinates();
+        move = Perft.legalMoves(position).get(0);
+        final Cell ownKing = position.getTurn() == Turn.WHITE ? Cell.WHITE_KING : Cell.BLACK_KING;
+        king = pieces.stream().filter(piece -> position.getCell(piece) == ownKing).findFirst().orElseThrow();
+    }
+
+    @Benchmark
+    public void possibleMoves(final Blackhole blackhole) {
+        for (Coordinate piece : pieces) blackhole.consume(position.possibleMoves(piece));
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return position.isValid(move);
+    }
+
+    @Benchmark
+    public boolean isUnderAttack() {
+        return position.isUnderAttack(king);
+    }
+
+    @Benchmark
+    public GameResult makeMove() {
+        final GameResult result = instance.makeMove(move, false);
+        instance.unmakeMove();
+        return result;
+    }
+
+    @Benchmark
+    public String getFen() {
+        return position.getFen();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long perft3() {
+        return Perft.perft(instance, 3);
+    }
+}
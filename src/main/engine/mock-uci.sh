@@ -0,0 +1,30 @@
+#!/bin/sh
+# Minimal UCI engine for exercising Stockfish/StockfishPlayer without a real binary.
+# MOCK_BESTMOVE       - move to answer every "go" with (default e2e4)
+# MOCK_MOVES          - space-separated moves answered by successive "go" commands (overrides MOCK_BESTMOVE)
+# MOCK_DELAY          - seconds to wait before answering "go" (default 0)
+# MOCK_DELAY_SEARCHES - only delay the first n searches (default all)
+# MOCK_CRASH_AFTER    - exit without answering the n-th "go" (default never)
+searches=0
+while IFS= read -r line; do
+    case "$line" in
+        uci) echo "id name mock-uci"; echo "uciok" ;;
+        isready) echo "readyok" ;;
+        go*)
+            searches=$((searches + 1))
+            [ -n "$MOCK_CRASH_AFTER" ] && [ "$searches" -ge "$MOCK_CRASH_AFTER" ] && exit 1
+            if [ -n "$MOCK_DELAY" ] && { [ -z "$MOCK_DELAY_SEARCHES" ] || [ "$searches" -le "$MOCK_DELAY_SEARCHES" ]; }; then
+                sleep "$MOCK_DELAY"
+            fi
+            move=${MOCK_BESTMOVE:-e2e4}
+            if [ -n "$MOCK_MOVES" ]; then
+                set -- $MOCK_MOVES
+                shift $(( (searches - 1) % $# ))
+                move=$1
+            fi
+            echo "info depth 1 score cp 0 nodes 1 pv $move"
+            echo "bestmove $move"
+            ;;
+        quit) exit 0 ;;
+    esac
+done
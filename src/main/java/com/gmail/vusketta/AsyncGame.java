@@ -0,0 +1,113 @@
+package com.gmail.vusketta;
+
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.metrics.Metrics;
+import com.gmail.vusketta.metrics.Timer;
+import com.gmail.vusketta.players.AsyncPlayer;
+import com.gmail.vusketta.tablebase.Tablebases;
+import com.gmail.vusketta.tablebase.Wdl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public class AsyncGame {
+    private final Board board;
+    private final AsyncPlayer player1;
+    private final AsyncPlayer player2;
+    private final Tablebases tablebases;
+    private final Executor executor;
+    private final String startFen;
+    private final List<Move> moves = new ArrayList<>();
+    private final Timer player1Timer;
+    private final Timer player2Timer;
+    private final CompletableFuture<Integer> result = new CompletableFuture<>();
+
+    public AsyncGame(Board board, AsyncPlayer player1, AsyncPlayer player2, Tablebases tablebases, Executor executor) {
+        this.board = board;
+        this.player1 = player1;
+        this.player2 = player2;
+        this.tablebases = tablebases;
+        this.executor = executor;
+        this.startFen = board.getPosition().getFen();
+        this.player1Timer = Metrics.timer("async." + player1.name());
+        this.player2Timer = Metrics.timer("async." + player2.name());
+    }
+
+    public CompletableFuture<Integer> start() {
+        executor.execute(() -> turn(1));
+        return result;
+    }
+
+    public CompletableFuture<Integer> getResult() {
+        return result;
+    }
+
+    public boolean cancel() {
+        return result.cancel(false);
+    }
+
+    public String getStartFen() {
+        return startFen;
+    }
+
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    private void turn(int no) {
+        if (result.isDone()) return;
+        final long start = System.nanoTime();
+        final CompletableFuture<Move> move;
+        try {
+            move = (no == 1 ? player1 : player2).requestMove(board.getPosition().snapshot());
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        move.whenCompleteAsync((chosen, failure) -> {
+            if (failure != null) {
+                result.completeExceptionally(failure);
+                return;
+            }
+            (no == 1 ? player1Timer : player2Timer).record(System.nanoTime() - start);
+            try {
+                final int outcome = apply(chosen, no);
+                if (outcome == -1) {
+                    turn(3 - no);
+                } else {
+                    result.complete(outcome);
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }, executor);
+    }
+
+    private int apply(Move move, int no) {
+        if (result.isDone()) return -1;
+        final long start = System.nanoTime();
+        final GameResult outcome = board.makeMove(move, true);
+        Metrics.BOARD_MAKE_MOVE.record(System.nanoTime() - start);
+        moves.add(move);
+        return switch (outcome) {
+            case WIN -> no;
+            case LOSE -> 3 - no;
+            case DRAW -> 0;
+            case UNKNOWN -> adjudicate(no);
+        };
+    }
+
+    private int adjudicate(int no) {
+        if (tablebases == null) return -1;
+        final Optional<Wdl> wdl = tablebases.probeWdl(board.getPosition());
+        if (wdl.isEmpty()) return -1;
+        return switch (wdl.get()) {
+            case WIN -> 3 - no;
+            case LOSS -> no;
+            case DRAW -> 0;
+        };
+    }
+}
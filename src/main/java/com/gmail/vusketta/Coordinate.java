@@ -1,13 +1,18 @@
 package com.gmail.vusketta;
 
-import com.gmail.vusketta.board.BoardUtils;
-
-import java.util.Map;
-
 public record Coordinate(int x, int y) {
+    private static final Coordinate[] SQUARES = new Coordinate[64];
+
+    static {
+        for (int square = 0; square < 64; square++) SQUARES[square] = new Coordinate(square & 7, square >>> 3);
+    }
 
     public static Coordinate of(int x, int y) {
-        return new Coordinate(x, y);
+        return 0 <= x && x < 8 && 0 <= y && y < 8 ? SQUARES[y << 3 | x] : new Coordinate(x, y);
+    }
+
+    public static Coordinate of(int square) {
+        return SQUARES[square];
     }
 
     @Override
@@ -20,7 +25,6 @@ public record Coordinate(int x, int y) {
 
     @Override
     public String toString() {
-        Map<Integer, Character> notation = BoardUtils.getReversedNotation();
-        return String.valueOf(notation.get(x + 1)) + (y + 1);
+        return String.valueOf((char) ('a' + x)) + (y + 1);
     }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.gmail.vusketta;
+
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.players.AsyncPlayer;
+import com.gmail.vusketta.players.RandomPlayer;
+import com.gmail.vusketta.tablebase.Tablebases;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class GameScheduler implements AutoCloseable {
+    private final ExecutorService executor;
+    private final Tablebases tablebases;
+    private final Set<AsyncGame> live = ConcurrentHashMap.newKeySet();
+    private final AtomicLong completed = new AtomicLong();
+
+    public GameScheduler(final int threads) {
+        this(threads, null);
+    }
+
+    public GameScheduler(final int threads, final Tablebases tablebases) {
+        this(Executors.newFixedThreadPool(threads, threadFactory()), tablebases);
+    }
+
+    public GameScheduler(final ExecutorService executor, final Tablebases tablebases) {
+        this.executor = executor;
+        this.tablebases = tablebases;
+    }
+
+    public AsyncGame submit(final Board board, final AsyncPlayer white, final AsyncPlayer black) {
+        final AsyncGame game = new AsyncGame(board, white, black, tablebases, executor);
+        live.add(game);
+        game.getResult().whenComplete((result, failure) -> {
+            live.remove(game);
+            completed.incrementAndGet();
+        });
+        game.start();
+        return game;
+    }
+
+    public int active() {
+        return live.size();
+    }
+
+    public long completed() {
+        return completed.get();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        for (AsyncGame game : live) game.cancel();
+    }
+
+    private static ThreadFactory threadFactory() {
+        final AtomicInteger count = new AtomicInteger();
+        return task -> {
+            final Thread thread = new Thread(task, "game-scheduler-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    public static void main(String[] args) {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        final int threads = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        final long start = System.nanoTime();
+        try (GameScheduler scheduler = new GameScheduler(threads)) {
+            final List<CompletableFuture<Integer>> results = new ArrayList<>(games);
+            for (int i = 0; i < games; i++) {
+                results.add(scheduler.submit(new BitBoard(), new RandomPlayer(), new RandomPlayer()).getResult());
+            }
+            final int peak = scheduler.active();
+            final int[] outcomes = new int[3];
+            for (CompletableFuture<Integer> result : results) outcomes[result.join()]++;
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d games on %d threads (%d live after submit): +%d =%d -%d  %.1f games/s  live threads %d%n",
+                    scheduler.completed(), threads, peak, outcomes[1], outcomes[0], outcomes[2], games / seconds,
+                    Thread.activeCount());
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.gmail.vusketta;
 
 import com.gmail.vusketta.board.ChessBoard;
+import com.gmail.vusketta.metrics.Metrics;
 import com.gmail.vusketta.players.*;
 
 import java.util.Scanner;
 
 public class Main {
     public static void main(String[] args) {
+        Metrics.registerFlightRecorderEvent();
         final Game game = new TwoPlayerGame(
                 new ChessBoard(),
                 getPlayer(),
@@ -25,7 +27,8 @@ public class Main {
         Scanner in = new Scanner(System.in);
         System.out.println(
                 "Введите \"human\" для обычного игрока, " +
-                        "\"random\" для случайного или \"stockfish\" для сверх гения: "
+                        "\"random\" для случайного, \"search\" для встроенного движка " +
+                        "или \"stockfish\" для сверх гения: "
         );
         while (true) {
             switch (in.next()) {
@@ -35,6 +38,9 @@ public class Main {
                 case "random" -> {
                     return new RandomPlayer();
                 }
+                case "search" -> {
+                    return new SearchPlayer(SearchLimits.moveTime(100), Runtime.getRuntime().availableProcessors());
+                }
                 case "stockfish" -> {
                     return new StockfishPlayer();
                 }
@@ -1,21 +1,58 @@
 package com.gmail.vusketta;
 
-public record Move(Coordinate from, Coordinate to) {
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.board.Cell;
+
+import java.util.Objects;
+
+public record Move(Coordinate from, Coordinate to, Cell promotion) {
+
+    public Move(Coordinate from, Coordinate to) {
+        this(from, to, null);
+    }
 
     public static Move of(Coordinate from, Coordinate to) {
         return new Move(from, to);
     }
 
+    public static Move of(Coordinate from, Coordinate to, Cell promotion) {
+        return new Move(from, to, promotion);
+    }
+
+    public static Move fromUci(final String uci, final Turn turn) {
+        final Coordinate from = BoardUtils.parseCoordinate(uci.substring(0, 2));
+        final Coordinate to = BoardUtils.parseCoordinate(uci.substring(2, 4));
+        if (uci.length() < 5) return of(from, to);
+        final char letter = uci.charAt(4);
+        return of(from, to, Cell.of(turn == Turn.WHITE ? Character.toUpperCase(letter) : letter));
+    }
+
+    public static Move unpack(final int packed, final Turn turn) {
+        final int promotion = PackedMove.promotion(packed);
+        return of(Coordinate.of(PackedMove.from(packed)), Coordinate.of(PackedMove.to(packed)),
+                promotion == 0 ? null : Cell.values()[promotion << 1 | (turn == Turn.WHITE ? 0 : 1)]);
+    }
+
+    public int pack() {
+        return PackedMove.of(from.y() << 3 | from.x(), to.y() << 3 | to.x(),
+                promotion == null ? 0 : promotion.ordinal() >> 1, PackedMove.NONE);
+    }
+
+    public String toUci() {
+        return from.toString() + to + (promotion == null ? "" : promotion.toString().toLowerCase());
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o instanceof Move) {
-            return ((Move) o).from.equals(from) && ((Move) o).to.equals(to);
+            return ((Move) o).from.equals(from) && ((Move) o).to.equals(to) &&
+                    Objects.equals(((Move) o).promotion, promotion);
         }
         return false;
     }
 
     @Override
     public String toString() {
-        return "Move(from = " + from + ", to = " + to + ")";
+        return "Move(from = " + from + ", to = " + to + (promotion == null ? "" : ", promotion = " + promotion) + ")";
     }
 }
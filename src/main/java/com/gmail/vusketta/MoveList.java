@@ -0,0 +1,53 @@
+package com.gmail.vusketta;
+
+public class MoveList {
+    public static final int CAPACITY = 256;
+
+    private final int[] moves = new int[CAPACITY];
+    private final int[] scores = new int[CAPACITY];
+    private int size;
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(final int move) {
+        moves[size++] = move;
+    }
+
+    public int get(final int index) {
+        return moves[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int score(final int index) {
+        return scores[index];
+    }
+
+    public void setScore(final int index, final int score) {
+        scores[index] = score;
+    }
+
+    public int pickNext(final int from) {
+        int best = from;
+        for (int i = from + 1; i < size; i++) {
+            if (scores[i] > scores[best]) best = i;
+        }
+        if (best != from) {
+            final int move = moves[best];
+            moves[best] = moves[from];
+            moves[from] = move;
+            final int score = scores[best];
+            scores[best] = scores[from];
+            scores[from] = score;
+        }
+        return moves[from];
+    }
+}
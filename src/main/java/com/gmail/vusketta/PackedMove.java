@@ -0,0 +1,55 @@
+package com.gmail.vusketta;
+
+public class PackedMove {
+    public static final int NONE = 0;
+    public static final int CAPTURE = 1 << 15, EN_PASSANT = 1 << 16, CASTLING = 1 << 17;
+    public static final int KEY_MASK = 0x7FFF;
+
+    public static int of(final int from, final int to) {
+        return from | to << 6;
+    }
+
+    public static int of(final int from, final int to, final int promotion, final int flags) {
+        return from | to << 6 | promotion << 12 | flags;
+    }
+
+    public static int from(final int move) {
+        return move & 63;
+    }
+
+    public static int to(final int move) {
+        return move >>> 6 & 63;
+    }
+
+    public static int promotion(final int move) {
+        return move >>> 12 & 7;
+    }
+
+    public static int key(final int move) {
+        return move & KEY_MASK;
+    }
+
+    public static boolean isCapture(final int move) {
+        return (move & CAPTURE) != 0;
+    }
+
+    public static boolean isEnPassant(final int move) {
+        return (move & EN_PASSANT) != 0;
+    }
+
+    public static boolean isCastling(final int move) {
+        return (move & CASTLING) != 0;
+    }
+
+    public static boolean isTactical(final int move) {
+        return (move & CAPTURE) != 0 || promotion(move) == 4;
+    }
+
+    public static String toUci(final int move) {
+        final StringBuilder uci = new StringBuilder(5)
+                .append((char) ('a' + (from(move) & 7))).append((char) ('1' + (from(move) >>> 3)))
+                .append((char) ('a' + (to(move) & 7))).append((char) ('1' + (to(move) >>> 3)));
+        if (promotion(move) != 0) uci.append(" rnbq".charAt(promotion(move)));
+        return uci.toString();
+    }
+}
@@ -1,6 +1,7 @@
 package com.gmail.vusketta;
 
 import com.gmail.vusketta.board.Cell;
+import com.gmail.vusketta.board.PositionSnapshot;
 
 import java.util.List;
 
@@ -9,8 +10,23 @@ public interface Position {
     boolean isValid(Move move);
     boolean isUnderAttack(Coordinate coordinate);
     List<Move> possibleMoves(Coordinate coordinate);
+    List<Move> legalMoves();
+    List<Move> legalCaptures();
+    void legalMoves(MoveList moves);
+    void legalCaptures(MoveList moves);
+    boolean isInCheck();
     Cell getCell(int row, int column);
     Cell getCell(Coordinate coordinate);
     List<Coordinate> getPieceCoordinates();
     String getFen();
+    long getZobristKey();
+    long getPawnKey();
+    int getCastlingRights();
+    int getEnPassant();
+    int getHalfmoveClock();
+    long getPieces(Cell cell);
+    int getEvaluation();
+    int getPhase();
+    boolean isDrawByRule();
+    PositionSnapshot snapshot();
 }
\ No newline at end of file
@@ -1,18 +1,39 @@
 package com.gmail.vusketta;
 
 import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.metrics.Metrics;
+import com.gmail.vusketta.metrics.Timer;
 import com.gmail.vusketta.players.Player;
+import com.gmail.vusketta.tablebase.Tablebases;
+import com.gmail.vusketta.tablebase.Wdl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 public class TwoPlayerGame implements Game {
     private final Board board;
     private final Player player1;
     private final Player player2;
+    private final Tablebases tablebases;
+    private final String startFen;
+    private final List<Move> moves = new ArrayList<>();
+    private final Timer player1Timer;
+    private final Timer player2Timer;
     private int moveNumber = 1;
 
     public TwoPlayerGame(Board board, Player player1, Player player2) {
+        this(board, player1, player2, null);
+    }
+
+    public TwoPlayerGame(Board board, Player player1, Player player2, Tablebases tablebases) {
         this.board = board;
         this.player1 = player1;
         this.player2 = player2;
+        this.tablebases = tablebases;
+        this.startFen = board.getPosition().getFen();
+        this.player1Timer = Metrics.timer("player." + player1.getClass().getSimpleName());
+        this.player2Timer = Metrics.timer("player." + player2.getClass().getSimpleName());
     }
 
     @Override
@@ -27,8 +48,13 @@ public class TwoPlayerGame implements Game {
 
     private int makeMove(Player player, int no, boolean log) {
         final Position position = board.getPosition();
+        final long start = System.nanoTime();
         final Move move = player.makeMove(position);
+        final long moved = System.nanoTime();
         final GameResult result = board.makeMove(move, true);
+        (no == 1 ? player1Timer : player2Timer).record(moved - start);
+        Metrics.BOARD_MAKE_MOVE.record(System.nanoTime() - moved);
+        moves.add(move);
         if (log) {
             System.out.println();
             System.out.println("Player: " + no);
@@ -42,7 +68,26 @@ public class TwoPlayerGame implements Game {
             case WIN -> no;
             case LOSE -> 3 - no;
             case DRAW -> 0;
-            case UNKNOWN -> -1;
+            case UNKNOWN -> adjudicate(no);
+        };
+    }
+
+    public String getStartFen() {
+        return startFen;
+    }
+
+    public List<Move> getMoves() {
+        return moves;
+    }
+
+    private int adjudicate(int no) {
+        if (tablebases == null) return -1;
+        final Optional<Wdl> wdl = tablebases.probeWdl(board.getPosition());
+        if (wdl.isEmpty()) return -1;
+        return switch (wdl.get()) {
+            case WIN -> 3 - no;
+            case LOSS -> no;
+            case DRAW -> 0;
         };
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.gmail.vusketta.benchmark;
+
+import com.gmail.vusketta.Coordinate;
+import com.gmail.vusketta.GameResult;
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.board.Cell;
+import com.gmail.vusketta.board.ChessBoard;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+public class BoardBenchmark {
+    public static void main(String[] args) {
+        final int games = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+        final long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+
+        crossCheck(games, seed);
+        System.out.println("Rules cross-check passed: " + games + " games");
+
+        measure("ChessBoard", ChessBoard::new, games, seed);
+        measure("BitBoard", BitBoard::new, games, seed);
+    }
+
+    private static void crossCheck(final int games, final long seed) {
+        final Random random = new Random(seed);
+        for (int game = 0; game < games; game++) {
+            final Board expected = new ChessBoard();
+            final Board actual = new BitBoard();
+            GameResult result = GameResult.UNKNOWN;
+            while (result == GameResult.UNKNOWN) {
+                final List<Move> moves = checkedMoves(expected.getPosition());
+                if (!new HashSet<>(moves).equals(new HashSet<>(checkedMoves(actual.getPosition()))) ||
+                        !new HashSet<>(moves).equals(new HashSet<>(ruleMoves(expected.getPosition())))) {
+                    throw new AssertionError("Moves differ at " + expected.getPosition().getFen());
+                }
+                final Move move = moves.get(random.nextInt(moves.size()));
+                checkUnmake(expected, move);
+                checkUnmake(actual, move);
+                result = expected.makeMove(move, true);
+                final GameResult actualResult = actual.makeMove(move, true);
+                final String fen = expected.getPosition().getFen();
+                if (result != actualResult || !fen.equals(actual.getPosition().getFen()) ||
+                        expected.getPosition().getZobristKey() != actual.getPosition().getZobristKey() ||
+                        expected.getPosition().getPawnKey() != actual.getPosition().getPawnKey() ||
+                        expected.getPosition().getEvaluation() != actual.getPosition().getEvaluation()) {
+                    throw new AssertionError("Boards differ after " + move + ": " + fen);
+                }
+            }
+        }
+    }
+
+    private static void checkUnmake(final Board board, final Move move) {
+        final String fen = board.getPosition().getFen();
+        board.makeMove(move, false);
+        board.unmakeMove();
+        if (!fen.equals(board.getPosition().getFen())) {
+            throw new AssertionError("Unmake of " + move + " did not restore " + fen);
+        }
+    }
+
+    private static void measure(final String name, final Supplier<Board> boards, final int games, final long seed) {
+        final Random random = new Random(seed);
+        long positions = 0;
+        final long start = System.nanoTime();
+        for (int game = 0; game < games; game++) {
+            final Board board = boards.get();
+            GameResult result = GameResult.UNKNOWN;
+            while (result == GameResult.UNKNOWN) {
+                final List<Move> moves = board.getPosition().legalMoves();
+                result = board.makeMove(moves.get(random.nextInt(moves.size())), true);
+                positions++;
+            }
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-10s %8d positions %8.2f s %12.0f positions/s%n",
+                name, positions, seconds, positions / seconds);
+    }
+
+    private static List<Move> checkedMoves(final Position position) {
+        final List<Move> moves = position.legalMoves();
+        if (moves.size() != position.legalCaptures().size() + countQuiets(position)) {
+            throw new AssertionError("Staged moves differ at " + position.getFen());
+        }
+        return moves;
+    }
+
+    private static int countQuiets(final Position position) {
+        int quiets = 0;
+        for (Coordinate piece : position.getPieceCoordinates()) {
+            for (Move move : position.possibleMoves(piece)) {
+                final boolean isCapture = !position.getCell(move.to()).isEmpty() ||
+                        position.getCell(move.from()).ordinal() >> 1 == 0 && move.from().x() != move.to().x();
+                final boolean isQueenPromotion = move.promotion() != null && move.promotion().ordinal() >> 1 == 4;
+                if (!isCapture && !isQueenPromotion) quiets++;
+            }
+        }
+        return quiets;
+    }
+
+    private static List<Move> ruleMoves(final Position position) {
+        final List<Move> moves = new ArrayList<>();
+        for (Coordinate piece : position.getPieceCoordinates()) {
+            final Cell cell = position.getCell(piece);
+            for (Move move : BoardUtils.getPieceMoves(cell, piece)) {
+                if (!BoardUtils.inside(move.to()) || !position.isValid(move)) continue;
+                if (cell.ordinal() >> 1 == 0 && (move.to().y() == 0 || move.to().y() == 7)) {
+                    for (Cell promotion : BoardUtils.getPromotions(cell.isWhite())) {
+                        moves.add(Move.of(piece, move.to(), promotion));
+                    }
+                } else {
+                    moves.add(move);
+                }
+            }
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,44 @@
+package com.gmail.vusketta.benchmark;
+
+import com.gmail.vusketta.perft.PerftSuite;
+import com.gmail.vusketta.players.SearchLimits;
+import com.gmail.vusketta.search.SearchResult;
+import com.gmail.vusketta.search.SmpSearch;
+import com.gmail.vusketta.search.TranspositionTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SmpBenchmark {
+    public static void main(String[] args) {
+        final int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        final int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        final int hash = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        final List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) threadCounts.add(threads);
+        threadCounts.add(maxThreads);
+
+        run(1, depth, hash);
+        double baseline = 0;
+        for (int threads : threadCounts) {
+            final long start = System.nanoTime();
+            final long nodes = run(threads, depth, hash);
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            if (threads == 1) baseline = seconds;
+            System.out.printf("threads %3d  depth %d  %8.2f s  %12d nodes  %10.0f nodes/s  speedup %.2f%n",
+                    threads, depth, seconds, nodes, nodes / seconds, baseline / seconds);
+        }
+    }
+
+    private static long run(final int threads, final int depth, final int hash) {
+        long nodes = 0;
+        try (SmpSearch search = new SmpSearch(new TranspositionTable(hash), threads)) {
+            for (PerftSuite.PerftCase perftCase : PerftSuite.CASES) {
+                final SearchResult result = search.search(perftCase.fen(), SearchLimits.depth(depth));
+                nodes += result.nodes();
+            }
+        }
+        return nodes;
+    }
+}
@@ -0,0 +1,461 @@
+package com.gmail.vusketta.board;
+
+import com.gmail.vusketta.*;
+import com.gmail.vusketta.exceptions.CellCanNotBeUnderAttack;
+import com.gmail.vusketta.exceptions.NoMoveToUnmake;
+import com.gmail.vusketta.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class BitBoard implements Board, Position {
+    private static final Cell[] CELLS = Cell.values();
+    private static final int WHITE = 0, BLACK = 1;
+    private static final int PAWN = 0, ROOK = 1, KNIGHT = 2, BISHOP = 3, QUEEN = 4, KING = 5;
+
+    private final long[] pieces;
+    private final long[] occupancy;
+    private final Cell[] mailbox;
+    private final MoveList moveBuffer = new MoveList();
+    private Turn turn;
+    private int moveNumber, draw50MovesRule;
+    private int castlingRights;
+    private int enPassant;
+    private long zobristKey, pawnKey;
+    private int mgScore, egScore, phase;
+    private long[] history;
+    private long[] keyHistory;
+    private int historySize;
+    private final long[] priorKeys;
+
+    public BitBoard() {
+        this(BoardUtils.INITIAL_FEN);
+    }
+
+    public BitBoard(final String fen) {
+        this(Fen.parse(fen));
+    }
+
+    public BitBoard(final Fen fen) {
+        this(fen, new long[0]);
+    }
+
+    public BitBoard(final Fen fen, final long[] priorKeys) {
+        this(priorKeys);
+        for (int square = 0; square < 64; square++) {
+            if (!fen.getCell(square).isEmpty()) put(square, fen.getCell(square));
+        }
+        setState(fen.turn(), fen.castlingRights(), fen.enPassant(), fen.halfmoveClock(), fen.fullmoveNumber());
+    }
+
+    public BitBoard(final PositionSnapshot snapshot) {
+        this(snapshot.getRecentKeys());
+        for (int ordinal = 0; ordinal < 12; ordinal++) {
+            long bits = snapshot.getPieces(CELLS[ordinal]);
+            while (bits != 0) {
+                put(Long.numberOfTrailingZeros(bits), CELLS[ordinal]);
+                bits &= bits - 1;
+            }
+        }
+        setState(snapshot.getTurn(), snapshot.getCastlingRights(), snapshot.getEnPassant(),
+                snapshot.getHalfmoveClock(), snapshot.getFullmoveNumber());
+    }
+
+    private BitBoard(final long[] priorKeys) {
+        this.priorKeys = priorKeys;
+        pieces = new long[12];
+        occupancy = new long[2];
+        mailbox = new Cell[64];
+        Arrays.fill(mailbox, Cell.EMPTY);
+        history = new long[256];
+        keyHistory = new long[256];
+    }
+
+    private void setState(final Turn turn, final int castlingRights, final int enPassant, final int halfmoveClock,
+                          final int fullmoveNumber) {
+        this.turn = turn;
+        this.castlingRights = castlingRights;
+        this.enPassant = enPassant;
+        draw50MovesRule = halfmoveClock;
+        moveNumber = 2 * fullmoveNumber - (turn == Turn.WHITE ? 1 : 0);
+        zobristKey ^= Zobrist.castling(castlingRights);
+        if (turn == Turn.BLACK) zobristKey ^= Zobrist.side();
+        if (enPassant != -1) zobristKey ^= Zobrist.enPassant(enPassant & 7);
+    }
+
+    @Override
+    public Position getPosition() {
+        return this;
+    }
+
+    @Override
+    public GameResult makeMove(final Move move, final boolean doNotSkipGameResult) {
+        makeMove(square(move.from()), square(move.to()), move.promotion());
+        if (doNotSkipGameResult && !hasLegalMove()) {
+            return isKingAttacked(turn == Turn.WHITE ? WHITE : BLACK) ? GameResult.WIN : GameResult.DRAW;
+        }
+        if (doNotSkipGameResult && isDrawByRule()) return GameResult.DRAW;
+
+        return GameResult.UNKNOWN;
+    }
+
+    @Override
+    public void makeMove(final int move) {
+        final int promotion = PackedMove.promotion(move);
+        makeMove(PackedMove.from(move), PackedMove.to(move),
+                promotion == 0 ? null : CELLS[promotion << 1 | sideToMove()]);
+    }
+
+    private void makeMove(final int from, final int to, final Cell promotion) {
+        final Cell piece = mailbox[from];
+        final int color = color(piece);
+        final int type = type(piece);
+        final int dx = (to & 7) - (from & 7);
+        final int capturedAt = type == PAWN && to == enPassant ? to + (color == WHITE ? -8 : 8) : to;
+        final Cell captured = mailbox[capturedAt];
+        pushHistory(from, to, piece, captured);
+
+        final boolean isIrreversible = type == PAWN || !captured.isEmpty();
+        if (!captured.isEmpty()) remove(capturedAt);
+        remove(from);
+        if (type == PAWN && (to < 8 || to >= 56)) {
+            put(to, promotion == null ? CELLS[QUEEN << 1 | color] : promotion);
+        } else {
+            put(to, piece);
+        }
+        if (type == KING && Math.abs(dx) == 2) {
+            final int rookFrom = dx == 2 ? from + 3 : from - 4;
+            final int rookTo = dx == 2 ? from + 1 : from - 1;
+            put(rookTo, mailbox[rookFrom]);
+            remove(rookFrom);
+        }
+
+        if (enPassant != -1) zobristKey ^= Zobrist.enPassant(enPassant & 7);
+        enPassant = type == PAWN && Math.abs(to - from) == 16 ? (from + to) >>> 1 : -1;
+        if (enPassant != -1) zobristKey ^= Zobrist.enPassant(enPassant & 7);
+        zobristKey ^= Zobrist.castling(castlingRights);
+        castlingRights &= castlingMask(from) & castlingMask(to);
+        zobristKey ^= Zobrist.castling(castlingRights);
+        draw50MovesRule = isIrreversible ? 0 : draw50MovesRule + 1;
+        moveNumber++;
+        turn = turn == Turn.WHITE ? Turn.BLACK : Turn.WHITE;
+        zobristKey ^= Zobrist.side();
+    }
+
+    @Override
+    public boolean isDrawByRule() {
+        return draw50MovesRule >= 100 || isThreefoldRepetition();
+    }
+
+    private boolean isThreefoldRepetition() {
+        int repetitions = 1;
+        final int end = Math.min(draw50MovesRule, historySize + priorKeys.length);
+        for (int distance = 2; distance <= end; distance += 2) {
+            final long key = distance <= historySize ? keyHistory[historySize - distance]
+                    : priorKeys[distance - historySize - 1];
+            if (key == zobristKey && ++repetitions == 3) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void unmakeMove() {
+        if (historySize == 0) throw new NoMoveToUnmake();
+        final long undo = history[--historySize];
+        final int from = (int) (undo & 63);
+        final int to = (int) (undo >>> 6 & 63);
+        final Cell piece = CELLS[(int) (undo >>> 12 & 15)];
+        final Cell captured = CELLS[(int) (undo >>> 16 & 15)];
+        castlingRights = (int) (undo >>> 20 & 15);
+        enPassant = (int) (undo >>> 24 & 127) - 1;
+        draw50MovesRule = (int) (undo >>> 32);
+        moveNumber--;
+        turn = turn == Turn.WHITE ? Turn.BLACK : Turn.WHITE;
+
+        remove(to);
+        put(from, piece);
+        if (!captured.isEmpty()) {
+            put(type(piece) == PAWN && to == enPassant ? to + (color(piece) == WHITE ? -8 : 8) : to, captured);
+        }
+        if (type(piece) == KING && Math.abs(to - from) == 2) {
+            final int rookFrom = to > from ? from + 3 : from - 4;
+            final int rookTo = to > from ? from + 1 : from - 1;
+            put(rookFrom, mailbox[rookTo]);
+            remove(rookTo);
+        }
+        zobristKey = keyHistory[historySize];
+    }
+
+    private void pushHistory(final int from, final int to, final Cell piece, final Cell captured) {
+        if (historySize == history.length) {
+            history = Arrays.copyOf(history, historySize * 2);
+            keyHistory = Arrays.copyOf(keyHistory, historySize * 2);
+        }
+        keyHistory[historySize] = zobristKey;
+        history[historySize++] = from | to << 6 | piece.ordinal() << 12 | captured.ordinal() << 16 |
+                castlingRights << 20 | enPassant + 1 << 24 | (long) draw50MovesRule << 32;
+    }
+
+    @Override
+    public PositionSnapshot snapshot() {
+        final long[] recent = new long[Math.min(draw50MovesRule, historySize + priorKeys.length)];
+        for (int i = 0; i < recent.length; i++) {
+            recent[i] = i < historySize ? keyHistory[historySize - 1 - i] : priorKeys[i - historySize];
+        }
+        return PositionSnapshot.of(this, (moveNumber + 1) / 2, recent);
+    }
+
+    @Override
+    public Turn getTurn() {
+        return turn;
+    }
+
+    @Override
+    public boolean isValid(final Move move) {
+        if (!BoardUtils.inside(move.from()) || !BoardUtils.inside(move.to())) return false;
+        final List<Move> moves = possibleMoves(move.from());
+        if (move.promotion() != null || moves.contains(move)) return moves.contains(move);
+        return moves.contains(Move.of(move.from(), move.to(), getCell(move.from()).isWhite() ? Cell.WHITE_QUEEN : Cell.BLACK_QUEEN));
+    }
+
+    @Override
+    public boolean isUnderAttack(final Coordinate coordinate) {
+        if (Metrics.HOT_PATH) Metrics.ATTACK_QUERIES.increment();
+        final Cell piece = getCell(coordinate);
+        if (piece.isEmpty()) throw new CellCanNotBeUnderAttack(piece);
+        return isAttacked(square(coordinate), piece.isWhite() ? BLACK : WHITE);
+    }
+
+    @Override
+    public List<Move> possibleMoves(final Coordinate coordinate) {
+        assert (BoardUtils.inside(coordinate));
+        final List<Move> moves = new ArrayList<>();
+        final int from = square(coordinate);
+        legalMoves(moveBuffer);
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            if (PackedMove.from(moveBuffer.get(i)) == from) moves.add(Move.unpack(moveBuffer.get(i), turn));
+        }
+        return moves;
+    }
+
+    @Override
+    public List<Move> legalMoves() {
+        legalMoves(moveBuffer);
+        return unpack(moveBuffer);
+    }
+
+    @Override
+    public List<Move> legalCaptures() {
+        legalCaptures(moveBuffer);
+        return unpack(moveBuffer);
+    }
+
+    @Override
+    public void legalMoves(final MoveList moves) {
+        moves.clear();
+        MoveGenerator.generate(pieces, sideToMove(), castlingRights, enPassant, MoveGenerator.CAPTURES, moves);
+        MoveGenerator.generate(pieces, sideToMove(), castlingRights, enPassant, MoveGenerator.QUIETS, moves);
+    }
+
+    @Override
+    public void legalCaptures(final MoveList moves) {
+        moves.clear();
+        MoveGenerator.generate(pieces, sideToMove(), castlingRights, enPassant, MoveGenerator.CAPTURES, moves);
+    }
+
+    @Override
+    public boolean isInCheck() {
+        return isKingAttacked(sideToMove());
+    }
+
+    private List<Move> unpack(final MoveList packed) {
+        final List<Move> moves = new ArrayList<>(packed.size());
+        for (int i = 0; i < packed.size(); i++) moves.add(Move.unpack(packed.get(i), turn));
+        return moves;
+    }
+
+    @Override
+    public Cell getCell(final int row, final int column) {
+        assert (BoardUtils.inside(Coordinate.of(column, row)));
+        return mailbox[row << 3 | column];
+    }
+
+    @Override
+    public Cell getCell(final Coordinate coordinate) {
+        return getCell(coordinate.y(), coordinate.x());
+    }
+
+    @Override
+    public List<Coordinate> getPieceCoordinates() {
+        final List<Coordinate> coordinates = new ArrayList<>();
+        long own = occupancy[sideToMove()];
+        while (own != 0) {
+            coordinates.add(coordinate(Long.numberOfTrailingZeros(own)));
+            own &= own - 1;
+        }
+        return coordinates;
+    }
+
+    @Override
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    @Override
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return castlingRights;
+    }
+
+    @Override
+    public int getEnPassant() {
+        return enPassant;
+    }
+
+    @Override
+    public int getHalfmoveClock() {
+        return draw50MovesRule;
+    }
+
+    @Override
+    public long getPieces(final Cell cell) {
+        return pieces[cell.ordinal()];
+    }
+
+    @Override
+    public int getEvaluation() {
+        return PieceSquareTables.taper(mgScore, egScore, phase, turn);
+    }
+
+    @Override
+    public int getPhase() {
+        return phase;
+    }
+
+    @Override
+    public String getFen() {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for (int y = 7; y >= 0; y--) {
+            int countOfEmptyCells = 0;
+            for (int x = 0; x < 8; x++) {
+                final Cell cell = mailbox[y << 3 | x];
+                if (cell.isEmpty()) countOfEmptyCells++;
+                else {
+                    if (countOfEmptyCells != 0) {
+                        stringBuilder.append(countOfEmptyCells);
+                        countOfEmptyCells = 0;
+                    }
+                    stringBuilder.append(cell);
+                }
+            }
+            if (countOfEmptyCells != 0) stringBuilder.append(countOfEmptyCells);
+            if (y != 0) stringBuilder.append("/");
+        }
+        stringBuilder.append(" ").append(turn == Turn.WHITE ? "w" : "b").append(" ");
+        if (castlingRights == 0) stringBuilder.append("-");
+        if ((castlingRights & 1) != 0) stringBuilder.append("K");
+        if ((castlingRights & 2) != 0) stringBuilder.append("Q");
+        if ((castlingRights & 4) != 0) stringBuilder.append("k");
+        if ((castlingRights & 8) != 0) stringBuilder.append("q");
+        stringBuilder.append(" ").append(enPassant == -1 ? "-" : coordinate(enPassant));
+        stringBuilder.append(" ").append(draw50MovesRule).append(" ").append((moveNumber + 1) / 2);
+        return stringBuilder.toString();
+    }
+
+    private int sideToMove() {
+        return turn == Turn.WHITE ? WHITE : BLACK;
+    }
+
+    private boolean hasLegalMove() {
+        return MoveGenerator.hasLegalMove(pieces, sideToMove(), castlingRights, enPassant, moveBuffer);
+    }
+
+    private boolean isKingAttacked(final int color) {
+        return isAttacked(Long.numberOfTrailingZeros(pieces[KING << 1 | color]), color ^ 1);
+    }
+
+    private boolean isAttacked(final int square, final int byColor) {
+        final long occupied = occupancy[WHITE] | occupancy[BLACK];
+        final long queens = pieces[QUEEN << 1 | byColor];
+        return (Attacks.pawnAttacks(byColor == BLACK, square) & pieces[PAWN << 1 | byColor]) != 0 ||
+                (Attacks.knightAttacks(square) & pieces[KNIGHT << 1 | byColor]) != 0 ||
+                (Attacks.kingAttacks(square) & pieces[KING << 1 | byColor]) != 0 ||
+                (Attacks.rookAttacks(square, occupied) & (pieces[ROOK << 1 | byColor] | queens)) != 0 ||
+                (Attacks.bishopAttacks(square, occupied) & (pieces[BISHOP << 1 | byColor] | queens)) != 0;
+    }
+
+    private void put(final int square, final Cell cell) {
+        final long bit = 1L << square;
+        pieces[cell.ordinal()] |= bit;
+        occupancy[color(cell)] |= bit;
+        mailbox[square] = cell;
+        zobristKey ^= Zobrist.piece(cell, square);
+        pawnKey ^= Zobrist.pawn(cell, square);
+        mgScore += PieceSquareTables.mg(cell, square);
+        egScore += PieceSquareTables.eg(cell, square);
+        phase += PieceSquareTables.phase(cell);
+    }
+
+    private void remove(final int square) {
+        final Cell cell = mailbox[square];
+        final long bit = ~(1L << square);
+        pieces[cell.ordinal()] &= bit;
+        occupancy[color(cell)] &= bit;
+        mailbox[square] = Cell.EMPTY;
+        zobristKey ^= Zobrist.piece(cell, square);
+        pawnKey ^= Zobrist.pawn(cell, square);
+        mgScore -= PieceSquareTables.mg(cell, square);
+        egScore -= PieceSquareTables.eg(cell, square);
+        phase -= PieceSquareTables.phase(cell);
+    }
+
+    private static int castlingMask(final int square) {
+        return switch (square) {
+            case 0 -> ~2;
+            case 4 -> ~3;
+            case 7 -> ~1;
+            case 56 -> ~8;
+            case 60 -> ~12;
+            case 63 -> ~4;
+            default -> ~0;
+        };
+    }
+
+    private static int color(final Cell cell) {
+        return cell.ordinal() & 1;
+    }
+
+    private static int type(final Cell cell) {
+        return cell.ordinal() >>> 1;
+    }
+
+    private static int square(final Coordinate coordinate) {
+        return coordinate.y() << 3 | coordinate.x();
+    }
+
+    private static Coordinate coordinate(final int square) {
+        return Coordinate.of(square & 7, square >>> 3);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("  a b c d e f g h");
+        sb.append(System.lineSeparator());
+
+        for (int y = 7; y >= 0; y--) {
+            sb.append(y + 1).append(" ");
+            for (int x = 0; x < 8; x++) {
+                sb.append(mailbox[y << 3 | x]).append(" ");
+            }
+            sb.append(y + 1).append(System.lineSeparator());
+        }
+
+        sb.append("  a b c d e f g h");
+        return sb.toString();
+    }
+}
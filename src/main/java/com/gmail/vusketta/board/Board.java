@@ -7,4 +7,6 @@ import com.gmail.vusketta.Position;
 public interface Board {
     Position getPosition();
     GameResult makeMove(Move move, boolean doNotSkipGameResult);
+    void makeMove(int move);
+    void unmakeMove();
 }
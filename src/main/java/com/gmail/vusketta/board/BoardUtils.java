@@ -8,6 +8,8 @@ import java.util.List;
 import java.util.Map;
 
 public class BoardUtils {
+    public static final String INITIAL_FEN = "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1";
+
     public static boolean inside(final Coordinate coordinate) {
         final int x = coordinate.x();
         final int y = coordinate.y();
@@ -59,11 +61,9 @@ public class BoardUtils {
         final int y = coordinate.y();
         return List.of(
                 Move.of(coordinate, Coordinate.of(x, y + (isWhite ? 1 : -1))),
-                Move.of(coordinate, Coordinate.of(x, y + (isWhite ? 1 : -1))),
+                Move.of(coordinate, Coordinate.of(x, y + (isWhite ? 2 : -2))),
                 Move.of(coordinate, Coordinate.of(x - 1, y + (isWhite ? 1 : -1))),
-                Move.of(coordinate, Coordinate.of(x + 1, y + (isWhite ? 2 : -2))),
-                Move.of(coordinate, Coordinate.of(x - 1, isWhite ? 5 : 2)),
-                Move.of(coordinate, Coordinate.of(x + 1, isWhite ? 5 : 2))
+                Move.of(coordinate, Coordinate.of(x + 1, y + (isWhite ? 1 : -1)))
         );
     }
 
@@ -136,6 +136,16 @@ public class BoardUtils {
         return bishops;
     }
 
+    public static List<Cell> getPromotions(final boolean isWhite) {
+        return isWhite
+                ? List.of(Cell.WHITE_QUEEN, Cell.WHITE_ROOK, Cell.WHITE_BISHOP, Cell.WHITE_KNIGHT)
+                : List.of(Cell.BLACK_QUEEN, Cell.BLACK_ROOK, Cell.BLACK_BISHOP, Cell.BLACK_KNIGHT);
+    }
+
+    public static Coordinate parseCoordinate(final String square) {
+        return Coordinate.of(square.charAt(0) - 'a', square.charAt(1) - '1');
+    }
+
     public static Map<Character, Integer> getNotation() {
         return Map.of(
                 'a', 1, 'b', 2, 'c', 3, 'd', 4,
@@ -31,6 +31,13 @@ public enum Cell {
         return !isWhite && !isBlack;
     }
 
+    public static Cell of(final char letter) {
+        for (Cell cell : values()) {
+            if (cell.emoji.charAt(0) == letter) return cell;
+        }
+        throw new IllegalArgumentException("Unknown piece: " + letter);
+    }
+
     @Override
     public String toString() {
         return emoji;
@@ -2,16 +2,22 @@ package com.gmail.vusketta.board;
 
 import com.gmail.vusketta.*;
 import com.gmail.vusketta.exceptions.CellCanNotBeUnderAttack;
+import com.gmail.vusketta.exceptions.NoMoveToUnmake;
+import com.gmail.vusketta.metrics.Metrics;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 import static com.gmail.vusketta.board.BoardUtils.*;
 
 public class ChessBoard implements Board, Position {
     private final Cell[][] field;
-    private final MoveTracker[][] moveTrackers;
+    private final long[] bitboards;
+    private long occupied;
+    private long zobristKey, pawnKey;
+    private int mgScore, egScore, phase;
     private final Map<Cell, Coordinate> kingPosition;
+    private final Deque<Undo> history;
+    private final MoveList moveBuffer = new MoveList();
     private Turn turn;
     private int moveNumber, draw50MovesRule;
     private boolean isPawnMoved, isPieceTaken;
@@ -19,57 +25,37 @@ public class ChessBoard implements Board, Position {
     private Coordinate enPassant;
 
     public ChessBoard() {
-        field = new Cell[8][8];
-        field[0] = new Cell[]{
-                Cell.WHITE_ROOK, Cell.WHITE_KNIGHT, Cell.WHITE_BISHOP, Cell.WHITE_QUEEN,
-                Cell.WHITE_KING, Cell.WHITE_BISHOP, Cell.WHITE_KNIGHT, Cell.WHITE_ROOK
-        };
-        Arrays.fill(field[1], Cell.WHITE_PAWN);
-        field[7] = new Cell[]{
-                Cell.BLACK_ROOK, Cell.BLACK_KNIGHT, Cell.BLACK_BISHOP, Cell.BLACK_QUEEN,
-                Cell.BLACK_KING, Cell.BLACK_BISHOP, Cell.BLACK_KNIGHT, Cell.BLACK_ROOK
-        };
-        Arrays.fill(field[6], Cell.BLACK_PAWN);
-        for (int i = 2; i < 6; i++) {
-            Arrays.fill(field[i], Cell.EMPTY);
-        }
-        moveTrackers = new MoveTracker[8][8];
-        for (MoveTracker[] row : moveTrackers) {
-            Arrays.fill(row, MoveTracker.of(
-                    Move.of(Coordinate.of(-1, -1), Coordinate.of(-1, -1)), 0)
-            );
-        }
-        kingPosition = new HashMap<>();
-        kingPosition.put(Cell.WHITE_KING, Coordinate.of(4, 0));
-        kingPosition.put(Cell.BLACK_KING, Coordinate.of(4, 7));
-        turn = Turn.WHITE;
-        moveNumber = 1;
-        draw50MovesRule = 0;
-        isPawnMoved = isPieceTaken = false;
-        isRoqueNotUsed = new boolean[]{true, true, true, true};
-        enPassant = null;
+        this(INITIAL_FEN);
     }
 
-    private ChessBoard(final ChessBoard chessBoard) {
+    public ChessBoard(final String fen) {
+        this(Fen.parse(fen));
+    }
+
+    public ChessBoard(final Fen fen) {
         field = new Cell[8][8];
-        for (int i = 0; i < 8; i++) {
-            System.arraycopy(chessBoard.field[i], 0, field[i], 0, 8);
-        }
-        moveTrackers = new MoveTracker[8][8];
-        for (int i = 0; i < 8; i++) {
-            System.arraycopy(chessBoard.moveTrackers[i], 0, moveTrackers[i], 0, 8);
-        }
+        bitboards = new long[12];
         kingPosition = new HashMap<>();
-        kingPosition.put(Cell.WHITE_KING, chessBoard.kingPosition.get(Cell.WHITE_KING));
-        kingPosition.put(Cell.BLACK_KING, chessBoard.kingPosition.get(Cell.BLACK_KING));
-        turn = chessBoard.turn;
-        moveNumber = chessBoard.moveNumber;
-        draw50MovesRule = chessBoard.draw50MovesRule;
-        isPawnMoved = chessBoard.isPawnMoved;
-        isPieceTaken = chessBoard.isPieceTaken;
-        isRoqueNotUsed = new boolean[4];
-        System.arraycopy(chessBoard.isRoqueNotUsed, 0, isRoqueNotUsed, 0, 4);
-        enPassant = chessBoard.enPassant;
+        for (Cell[] row : field) Arrays.fill(row, Cell.EMPTY);
+        for (int square = 0; square < 64; square++) {
+            final Cell cell = fen.getCell(square);
+            if (cell.isEmpty()) continue;
+            final Coordinate coordinate = Coordinate.of(square & 7, square >>> 3);
+            changeCell(coordinate, cell);
+            if (cell == Cell.WHITE_KING || cell == Cell.BLACK_KING) kingPosition.put(cell, coordinate);
+        }
+        history = new ArrayDeque<>();
+        turn = fen.turn();
+        final int rights = fen.castlingRights();
+        isRoqueNotUsed = new boolean[]{(rights & 1) != 0, (rights & 2) != 0, (rights & 4) != 0, (rights & 8) != 0};
+        final int target = fen.enPassant();
+        enPassant = target == -1 ? null : Coordinate.of(target & 7, target >>> 3 == 2 ? 3 : 4);
+        draw50MovesRule = fen.halfmoveClock();
+        moveNumber = 2 * fen.fullmoveNumber() - (turn == Turn.WHITE ? 1 : 0);
+        isPawnMoved = isPieceTaken = false;
+        zobristKey ^= Zobrist.castling(getRoqueRights());
+        if (turn == Turn.BLACK) zobristKey ^= Zobrist.side();
+        if (enPassant != null) zobristKey ^= Zobrist.enPassant(enPassant.x());
     }
 
     @Override
@@ -81,58 +67,117 @@ public class ChessBoard implements Board, Position {
     public GameResult makeMove(final Move move, final boolean doNotSkipGameResult) {
         final Cell piece = getCell(move.from());
         final Cell temp = getCell(move.to());
-        if (piece == Cell.WHITE_KING || piece == Cell.BLACK_KING) kingPosition.put(piece, move.to());
-
-        killCell(move, move.from());
-
         final int dx = move.to().x() - move.from().x();
         final int dy = move.to().y() - move.from().y();
+        final boolean isEnPassant = (piece == Cell.WHITE_PAWN || piece == Cell.BLACK_PAWN) &&
+                temp.isEmpty() && Math.abs(dx) == 1;
+        final Coordinate capturedAt = isEnPassant ? Coordinate.of(move.to().x(), move.from().y()) : move.to();
+        history.push(new Undo(move, piece, getCell(capturedAt), capturedAt,
+                getRoqueRights(), enPassant, draw50MovesRule, zobristKey));
+
+        if (piece == Cell.WHITE_KING || piece == Cell.BLACK_KING) kingPosition.put(piece, move.to());
+
+        killCell(move.from());
+        isPieceTaken = !temp.isEmpty();
+        isPawnMoved = piece == Cell.WHITE_PAWN || piece == Cell.BLACK_PAWN;
+        if (enPassant != null) zobristKey ^= Zobrist.enPassant(enPassant.x());
         enPassant = null;
 
         if (turn == Turn.WHITE) {
-            changeCell(move, move.to(), piece == Cell.WHITE_PAWN && move.to().y() == 7 ? Cell.WHITE_QUEEN : piece);
+            changeCell(move.to(), piece == Cell.WHITE_PAWN && move.to().y() == 7 ? promotion(move, Cell.WHITE_QUEEN) : piece);
             if (piece == Cell.WHITE_PAWN && dy == 2) enPassant = move.to();
-            if (piece == Cell.WHITE_PAWN && temp.isEmpty() && Math.abs(dx) == 1)
-                killCell(move, Coordinate.of(move.to().x(), 4));
+            if (isEnPassant) killCell(capturedAt);
             if (piece == Cell.WHITE_KING && Math.abs(dx) == 2) {
-                isRoqueNotUsed[dx == 2 ? 0 : 1] = false;
                 final Coordinate rookFrom = dx == 2 ? Coordinate.of(7, 0) : Coordinate.of(0, 0);
                 final Coordinate rookTo = dx == 2 ? Coordinate.of(5, 0) : Coordinate.of(3, 0);
-                final Move rookMove = Move.of(rookFrom, rookTo);
-                changeCell(rookMove, rookTo, Cell.WHITE_ROOK);
-                killCell(rookMove, rookFrom);
+                changeCell(rookTo, Cell.WHITE_ROOK);
+                killCell(rookFrom);
             }
         } else {
-            changeCell(move, move.to(), piece == Cell.BLACK_PAWN && move.to().y() == 0 ? Cell.BLACK_QUEEN : piece);
+            changeCell(move.to(), piece == Cell.BLACK_PAWN && move.to().y() == 0 ? promotion(move, Cell.BLACK_QUEEN) : piece);
             if (piece == Cell.BLACK_PAWN && dy == -2) enPassant = move.to();
-            if (piece == Cell.BLACK_PAWN && temp.isEmpty() && Math.abs(dx) == 1)
-                killCell(move, Coordinate.of(move.to().x(), 3));
+            if (isEnPassant) killCell(capturedAt);
             if (piece == Cell.BLACK_KING && Math.abs(dx) == 2) {
-                isRoqueNotUsed[dx == 2 ? 2 : 3] = false;
                 final Coordinate rookFrom = dx == 2 ? Coordinate.of(7, 7) : Coordinate.of(0, 7);
                 final Coordinate rookTo = dx == 2 ? Coordinate.of(5, 7) : Coordinate.of(3, 7);
-                final Move rookMove = Move.of(rookFrom, rookTo);
-                changeCell(rookMove, rookTo, Cell.BLACK_ROOK);
-                killCell(rookMove, rookFrom);
+                changeCell(rookTo, Cell.BLACK_ROOK);
+                killCell(rookFrom);
             }
         }
 
+        if (enPassant != null) zobristKey ^= Zobrist.enPassant(enPassant.x());
+        zobristKey ^= Zobrist.castling(getRoqueRights());
+        updateRoqueRights(move.from());
+        updateRoqueRights(move.to());
+        zobristKey ^= Zobrist.castling(getRoqueRights());
+
         draw50MovesRule = isPieceTaken || isPawnMoved ? 0 : draw50MovesRule + 1;
         isPieceTaken = isPawnMoved = false;
 
-        if (doNotSkipGameResult && draw50MovesRule == 50) return GameResult.DRAW;
-
         moveNumber++;
         turn = turn == Turn.WHITE ? Turn.BLACK : Turn.WHITE;
+        zobristKey ^= Zobrist.side();
 
         final Cell king = turn == Turn.WHITE ? Cell.WHITE_KING : Cell.BLACK_KING;
-        if (doNotSkipGameResult && allPossibleMoves().isEmpty()) {
+        if (doNotSkipGameResult && !hasLegalMove()) {
             return isUnderAttack(kingPosition.get(king)) ? GameResult.WIN : GameResult.DRAW;
         }
+        if (doNotSkipGameResult && isDrawByRule()) return GameResult.DRAW;
 
         return GameResult.UNKNOWN;
     }
 
+    @Override
+    public boolean isDrawByRule() {
+        return draw50MovesRule >= 100 || isThreefoldRepetition();
+    }
+
+    private boolean isThreefoldRepetition() {
+        int repetitions = 1;
+        int distance = 0;
+        for (Undo undo : history) {
+            if (++distance > draw50MovesRule) break;
+            if (distance % 2 == 0 && undo.zobristKey() == zobristKey && ++repetitions == 3) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void makeMove(final int move) {
+        makeMove(Move.unpack(move, turn), false);
+    }
+
+    @Override
+    public void unmakeMove() {
+        if (history.isEmpty()) throw new NoMoveToUnmake();
+        final Undo undo = history.pop();
+        final Move move = undo.move();
+        final Cell piece = undo.piece();
+
+        moveNumber--;
+        turn = turn == Turn.WHITE ? Turn.BLACK : Turn.WHITE;
+
+        killCell(move.to());
+        changeCell(undo.capturedAt(), undo.captured());
+        changeCell(move.from(), piece);
+
+        if (piece == Cell.WHITE_KING || piece == Cell.BLACK_KING) {
+            kingPosition.put(piece, move.from());
+            final int dx = move.to().x() - move.from().x();
+            if (Math.abs(dx) == 2) {
+                final Coordinate rookFrom = Coordinate.of(dx == 2 ? 7 : 0, move.from().y());
+                final Coordinate rookTo = Coordinate.of(dx == 2 ? 5 : 3, move.from().y());
+                changeCell(rookFrom, getCell(rookTo));
+                killCell(rookTo);
+            }
+        }
+
+        setRoqueRights(undo.roqueRights());
+        enPassant = undo.enPassant();
+        draw50MovesRule = undo.draw50MovesRule();
+        zobristKey = undo.zobristKey();
+    }
+
     @Override
     public Turn getTurn() {
         return turn;
@@ -163,8 +208,9 @@ public class ChessBoard implements Board, Position {
         if (Math.abs(dx) == Math.abs(dy)) {
             final int shiftX = (int) Math.signum(dx);
             final int shiftY = (int) Math.signum(dy);
+            from = Coordinate.of(from.x() + shiftX, from.y() + shiftY);
             while (!from.equals(to)) {
-                if (!getCell(from.y() + shiftY, from.x() + shiftX).isEmpty()) {
+                if (!getCell(from).isEmpty()) {
                     return false;
                 }
                 from = Coordinate.of(from.x() + shiftX, from.y() + shiftY);
@@ -194,27 +240,23 @@ public class ChessBoard implements Board, Position {
         if (toPiece == Cell.WHITE_KING || toPiece == Cell.BLACK_KING)
             return false;
 
+        if (move.promotion() != null &&
+                !(isPromotion(fromPiece, to) && getPromotions(fromPiece.isWhite()).contains(move.promotion())))
+            return false;
+
         final int dx = to.x() - from.x();
         final int dy = to.y() - from.y();
 
         final boolean whitePawnMove = toPiece.isEmpty() && dx == 0 && (dy == 1 || from.y() == 1 && dy == 2) && isNotBetween(move);
         final boolean whitePawnAttack = toPiece.isBlack() && (dx == 1 && dy == 1 || dx == -1 && dy == 1);
         final boolean whiteEnPassant = toPiece.isEmpty() && from.y() == 4 && to.y() == 5 &&
-                Math.abs(dx) == 1 && getCell(4, to.x()) == Cell.BLACK_PAWN &&
-                moveTrackers[4][to.x()].moveNumber() == moveNumber - 1 &&
-                moveTrackers[4][to.x()].move().equals(Move.of(Coordinate.of(to.x(), 6), Coordinate.of(to.x(), 4)));
+                Math.abs(dx) == 1 && getCell(4, to.x()) == Cell.BLACK_PAWN && Coordinate.of(to.x(), 4).equals(enPassant);
         final boolean blackPawnMove = toPiece.isEmpty() && dx == 0 && (dy == -1 || from.y() == 6 && dy == -2) && isNotBetween(move);
         final boolean blackPawnAttack = toPiece.isWhite() && (dx == 1 && dy == -1 || dx == -1 && dy == -1);
         final boolean blackEnPassant = toPiece.isEmpty() && from.y() == 3 && to.y() == 2 &&
-                Math.abs(dx) == 1 && getCell(3, to.x()) == Cell.WHITE_PAWN &&
-                moveTrackers[3][to.x()].moveNumber() == moveNumber - 1 &&
-                moveTrackers[3][to.x()].move().equals(Move.of(Coordinate.of(to.x(), 1), Coordinate.of(to.x(), 3)));
-        final boolean whiteRoque = (dx == 2 && getCell(0, 7) == Cell.WHITE_ROOK && isNotMoved(Coordinate.of(7, 0)) ||
-                dx == -2 && getCell(0, 0) == Cell.WHITE_ROOK && isNotMoved(Coordinate.of(0, 0))) &&
-                dy == 0 && isNotBetween(move) && isNotMoved(move.from());
-        final boolean blackRoque = (dx == 2 && getCell(7, 7) == Cell.BLACK_ROOK && isNotMoved(Coordinate.of(7, 7)) ||
-                dx == -2 && getCell(7, 0) == Cell.BLACK_ROOK && isNotMoved(Coordinate.of(0, 7))) &&
-                dy == 7 && isNotBetween(move) && isNotMoved(move.from());
+                Math.abs(dx) == 1 && getCell(3, to.x()) == Cell.WHITE_PAWN && Coordinate.of(to.x(), 3).equals(enPassant);
+        final boolean whiteRoque = dy == 0 && Math.abs(dx) == 2 && isRoqueAllowed(from, dx, Cell.WHITE_ROOK);
+        final boolean blackRoque = dy == 0 && Math.abs(dx) == 2 && isRoqueAllowed(from, dx, Cell.BLACK_ROOK);
         final boolean pieceMove = switch (fromPiece) {
             case WHITE_PAWN -> whitePawnMove || whitePawnAttack || whiteEnPassant;
             case BLACK_PAWN -> blackPawnMove || blackPawnAttack || blackEnPassant;
@@ -238,66 +280,134 @@ public class ChessBoard implements Board, Position {
 
     @Override
     public boolean isUnderAttack(final Coordinate coordinate) {
+        if (Metrics.HOT_PATH) Metrics.ATTACK_QUERIES.increment();
         final Cell piece = getCell(coordinate);
         if (piece.isEmpty()) throw new CellCanNotBeUnderAttack(piece);
+        return isAttackedBy(coordinate, piece.isBlack());
+    }
 
-        final int x = coordinate.x();
-        final int y = coordinate.y();
+    private boolean isAttackedBy(final Coordinate coordinate, final boolean byWhite) {
+        final int square = coordinate.y() << 3 | coordinate.x();
+
+        final Cell pawn = byWhite ? Cell.WHITE_PAWN : Cell.BLACK_PAWN;
+        final Cell rook = byWhite ? Cell.WHITE_ROOK : Cell.BLACK_ROOK;
+        final Cell knight = byWhite ? Cell.WHITE_KNIGHT : Cell.BLACK_KNIGHT;
+        final Cell bishop = byWhite ? Cell.WHITE_BISHOP : Cell.BLACK_BISHOP;
+        final Cell queen = byWhite ? Cell.WHITE_QUEEN : Cell.BLACK_QUEEN;
+        final Cell king = byWhite ? Cell.WHITE_KING : Cell.BLACK_KING;
+
+        final long queens = bitboards[queen.ordinal()];
+        return (Attacks.pawnAttacks(!byWhite, square) & bitboards[pawn.ordinal()]) != 0 ||
+                (Attacks.knightAttacks(square) & bitboards[knight.ordinal()]) != 0 ||
+                (Attacks.kingAttacks(square) & bitboards[king.ordinal()]) != 0 ||
+                (Attacks.rookAttacks(square, occupied) & (bitboards[rook.ordinal()] | queens)) != 0 ||
+                (Attacks.bishopAttacks(square, occupied) & (bitboards[bishop.ordinal()] | queens)) != 0;
+    }
 
-        final Cell pawn = piece.isWhite() ? Cell.BLACK_PAWN : Cell.WHITE_PAWN;
-        final Cell rook = piece.isWhite() ? Cell.BLACK_ROOK : Cell.WHITE_ROOK;
-        final Cell knight = piece.isWhite() ? Cell.BLACK_KNIGHT : Cell.WHITE_KNIGHT;
-        final Cell bishop = piece.isWhite() ? Cell.BLACK_BISHOP : Cell.WHITE_BISHOP;
-        final Cell queen = piece.isWhite() ? Cell.BLACK_QUEEN : Cell.WHITE_QUEEN;
-
-        final Coordinate pawn1 = Coordinate.of(x - 1, piece.isWhite() ? y + 1 : y - 1);
-        final Coordinate pawn2 = Coordinate.of(x + 1, piece.isWhite() ? y + 1 : y - 1);
-        if (inside(pawn1) && getCell(pawn1) == pawn) return true;
-        if (inside(pawn2) && getCell(pawn2) == pawn) return true;
-
-        final List<Coordinate> rooks = getRookAttacks(x, y);
-        for (Coordinate rook1 : rooks) {
-            if (inside(rook1) && (getCell(rook1) == rook || getCell(rook1) == queen)
-                    && isNotBetween(Move.of(rook1, coordinate)))
-                return true;
-        }
+    private boolean isRoqueAllowed(final Coordinate king, final int dx, final Cell rook) {
+        final boolean isWhite = rook.isWhite();
+        if (!isRoqueNotUsed[(isWhite ? 0 : 2) + (dx == 2 ? 0 : 1)]) return false;
+        final Coordinate rookCoordinate = Coordinate.of(dx == 2 ? 7 : 0, king.y());
+        return getCell(rookCoordinate) == rook && isNotBetween(Move.of(king, rookCoordinate)) &&
+                !isAttackedBy(king, !isWhite) && !isAttackedBy(Coordinate.of(king.x() + dx / 2, king.y()), !isWhite);
+    }
 
-        final List<Coordinate> knights = getKnightAttacks(x, y);
-        for (Coordinate knight1 : knights) {
-            if (inside(knight1) && getCell(knight1) == knight) return true;
+    private int getRoqueRights() {
+        int rights = 0;
+        for (int i = 0; i < 4; i++) {
+            if (isRoqueNotUsed[i]) rights |= 1 << i;
         }
+        return rights;
+    }
 
-        final List<Coordinate> bishops = getBishopAttacks(x, y);
-        for (Coordinate bishop1 : bishops) {
-            if (inside(bishop1) && (getCell(bishop1) == bishop || getCell(bishop1) == queen)
-                    && isNotBetween(Move.of(bishop1, coordinate))) return true;
+    private void setRoqueRights(final int rights) {
+        for (int i = 0; i < 4; i++) {
+            isRoqueNotUsed[i] = (rights >> i & 1) != 0;
         }
+    }
 
-        return false;
+    private void updateRoqueRights(final Coordinate coordinate) {
+        final int x = coordinate.x();
+        final int y = coordinate.y();
+        if (y != 0 && y != 7) return;
+        final int shift = y == 0 ? 0 : 2;
+        if (x == 4 || x == 7) isRoqueNotUsed[shift] = false;
+        if (x == 4 || x == 0) isRoqueNotUsed[shift + 1] = false;
     }
 
     private boolean isNotCheckAfterMove(final Move move) {
-        final ChessBoard temp = new ChessBoard(this);
-        temp.makeMove(move, false);
-        final Coordinate king = temp.kingPosition.get(temp.turn == Turn.WHITE ? Cell.BLACK_KING : Cell.WHITE_KING);
-        return !temp.isUnderAttack(king);
+        makeMove(move, false);
+        final Coordinate king = kingPosition.get(turn == Turn.WHITE ? Cell.BLACK_KING : Cell.WHITE_KING);
+        final boolean isNotCheck = !isUnderAttack(king);
+        unmakeMove();
+        return isNotCheck;
+    }
+
+    private boolean hasLegalMove() {
+        moveBuffer.clear();
+        generate(MoveGenerator.ALL, moveBuffer);
+        return !moveBuffer.isEmpty();
     }
 
     @Override
     public List<Move> possibleMoves(final Coordinate coordinate) {
         assert (inside(coordinate));
-        final Cell piece = getCell(coordinate);
-        return getPieceMoves(piece, coordinate)
-                .stream()
-                .filter(this::isValid)
-                .collect(Collectors.toList());
+        final int from = coordinate.y() << 3 | coordinate.x();
+        final List<Move> moves = new ArrayList<>();
+        legalMoves(moveBuffer);
+        for (int i = 0; i < moveBuffer.size(); i++) {
+            if (PackedMove.from(moveBuffer.get(i)) == from) moves.add(Move.unpack(moveBuffer.get(i), turn));
+        }
+        return moves;
+    }
+
+    @Override
+    public List<Move> legalMoves() {
+        legalMoves(moveBuffer);
+        return unpack(moveBuffer);
     }
 
-    private List<Move> allPossibleMoves() {
-        List<Move> allMoves = new ArrayList<>();
-        List<Coordinate> pieces = getPieceCoordinates();
-        for (Coordinate piece : pieces) allMoves.addAll(possibleMoves(piece));
-        return allMoves;
+    @Override
+    public List<Move> legalCaptures() {
+        legalCaptures(moveBuffer);
+        return unpack(moveBuffer);
+    }
+
+    @Override
+    public void legalMoves(final MoveList moves) {
+        moves.clear();
+        generate(MoveGenerator.CAPTURES, moves);
+        generate(MoveGenerator.QUIETS, moves);
+    }
+
+    @Override
+    public void legalCaptures(final MoveList moves) {
+        moves.clear();
+        generate(MoveGenerator.CAPTURES, moves);
+    }
+
+    @Override
+    public boolean isInCheck() {
+        return isUnderAttack(kingPosition.get(turn == Turn.WHITE ? Cell.WHITE_KING : Cell.BLACK_KING));
+    }
+
+    private List<Move> unpack(final MoveList packed) {
+        final List<Move> moves = new ArrayList<>(packed.size());
+        for (int i = 0; i < packed.size(); i++) moves.add(Move.unpack(packed.get(i), turn));
+        return moves;
+    }
+
+    private void generate(final int stage, final MoveList moves) {
+        final int enPassantTarget = enPassant == null ? -1 : (enPassant.y() == 3 ? 2 : 5) << 3 | enPassant.x();
+        MoveGenerator.generate(bitboards, turn == Turn.WHITE ? 0 : 1, getRoqueRights(), enPassantTarget, stage, moves);
+    }
+
+    private static boolean isPromotion(final Cell piece, final Coordinate to) {
+        return piece == Cell.WHITE_PAWN && to.y() == 7 || piece == Cell.BLACK_PAWN && to.y() == 0;
+    }
+
+    private static Cell promotion(final Move move, final Cell queen) {
+        return move.promotion() == null ? queen : move.promotion();
     }
 
     @Override
@@ -311,28 +421,29 @@ public class ChessBoard implements Board, Position {
         return getCell(coordinate.y(), coordinate.x());
     }
 
-    private void changeCell(final Move move, final Coordinate coordinate, final Cell cell) {
-        if (!getCell(move.to()).isEmpty()) isPieceTaken = true;
+    private void changeCell(final Coordinate coordinate, final Cell cell) {
         final int x = coordinate.x();
         final int y = coordinate.y();
+        final long bit = 1L << (y << 3 | x);
+        final Cell old = field[y][x];
+        zobristKey ^= Zobrist.piece(old, y << 3 | x) ^ Zobrist.piece(cell, y << 3 | x);
+        pawnKey ^= Zobrist.pawn(old, y << 3 | x) ^ Zobrist.pawn(cell, y << 3 | x);
+        mgScore += PieceSquareTables.mg(cell, y << 3 | x) - PieceSquareTables.mg(old, y << 3 | x);
+        egScore += PieceSquareTables.eg(cell, y << 3 | x) - PieceSquareTables.eg(old, y << 3 | x);
+        phase += PieceSquareTables.phase(cell) - PieceSquareTables.phase(old);
+        if (!old.isEmpty()) {
+            bitboards[old.ordinal()] &= ~bit;
+            occupied &= ~bit;
+        }
+        if (!cell.isEmpty()) {
+            bitboards[cell.ordinal()] |= bit;
+            occupied |= bit;
+        }
         field[y][x] = cell;
-        moveTrackers[y][x] = MoveTracker.of(move, moveNumber);
-        isPawnMoved = cell == Cell.WHITE_PAWN || cell == Cell.BLACK_PAWN;
-    }
-
-    private void killCell(final Move move, final Coordinate coordinate) {
-        changeCell(move, coordinate, Cell.EMPTY);
     }
 
-    private boolean isNotMoved(final Coordinate coordinate) {
-        assert (inside(coordinate));
-        final int x = coordinate.x();
-        final int y = coordinate.y();
-        return moveTrackers[y][x].equals(
-                MoveTracker.of(
-                        Move.of(Coordinate.of(-1, -1), Coordinate.of(-1, -1)), 0
-                )
-        );
+    private void killCell(final Coordinate coordinate) {
+        changeCell(coordinate, Cell.EMPTY);
     }
 
     @Override
@@ -356,6 +467,54 @@ public class ChessBoard implements Board, Position {
         return pieces;
     }
 
+    @Override
+    public PositionSnapshot snapshot() {
+        final long[] recent = new long[Math.min(draw50MovesRule, history.size())];
+        final Iterator<Undo> undos = history.iterator();
+        for (int i = 0; i < recent.length; i++) recent[i] = undos.next().zobristKey();
+        return PositionSnapshot.of(this, (moveNumber + 1) / 2, recent);
+    }
+
+    @Override
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    @Override
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return getRoqueRights();
+    }
+
+    @Override
+    public int getEnPassant() {
+        return enPassant == null ? -1 : (enPassant.y() == 3 ? 2 : 5) << 3 | enPassant.x();
+    }
+
+    @Override
+    public int getHalfmoveClock() {
+        return draw50MovesRule;
+    }
+
+    @Override
+    public long getPieces(final Cell cell) {
+        return bitboards[cell.ordinal()];
+    }
+
+    @Override
+    public int getEvaluation() {
+        return PieceSquareTables.taper(mgScore, egScore, phase, turn);
+    }
+
+    @Override
+    public int getPhase() {
+        return phase;
+    }
+
     @Override
     public String getFen() {
         StringBuilder stringBuilder = new StringBuilder();
@@ -376,11 +535,14 @@ public class ChessBoard implements Board, Position {
             if (i != 7) stringBuilder.append("/");
         }
         stringBuilder.append(" ").append(turn == Turn.WHITE ? "w" : "b");
-        stringBuilder.append(" ").append(isRoqueNotUsed[0] ? "K" : "");
+        stringBuilder.append(" ");
+        final int roqueStart = stringBuilder.length();
+        stringBuilder.append(isRoqueNotUsed[0] ? "K" : "");
         stringBuilder.append(isRoqueNotUsed[1] ? "Q" : "").append(isRoqueNotUsed[2] ? "k" : "");
-        stringBuilder.append(isRoqueNotUsed[3] ? "q" : "").append(" ");
-        stringBuilder.append(enPassant == null ? "-" : enPassant);
-        stringBuilder.append(" ").append(draw50MovesRule).append(" ").append(moveNumber - 1);
+        stringBuilder.append(isRoqueNotUsed[3] ? "q" : "");
+        stringBuilder.append(stringBuilder.length() == roqueStart ? "- " : " ");
+        stringBuilder.append(enPassant == null ? "-" : Coordinate.of(enPassant.x(), enPassant.y() == 3 ? 2 : 5));
+        stringBuilder.append(" ").append(draw50MovesRule).append(" ").append((moveNumber + 1) / 2);
         return stringBuilder.toString();
     }
 
@@ -400,4 +562,8 @@ public class ChessBoard implements Board, Position {
         sb.append("  a b c d e f g h");
         return sb.toString();
     }
-}
\ No newline at end of file
+
+    private record Undo(Move move, Cell piece, Cell captured, Coordinate capturedAt,
+                        int roqueRights, Coordinate enPassant, int draw50MovesRule, long zobristKey) {
+    }
+}
@@ -0,0 +1,118 @@
+package com.gmail.vusketta.board;
+
+import com.gmail.vusketta.Turn;
+
+import java.util.Arrays;
+
+public record Fen(Cell[] board, Turn turn, int castlingRights, int enPassant, int halfmoveClock, int fullmoveNumber) {
+    private static final Cell[] PIECES = new Cell[128];
+
+    static {
+        for (Cell cell : Cell.values()) {
+            if (!cell.isEmpty()) PIECES[cell.toString().charAt(0)] = cell;
+        }
+    }
+
+    public static Fen parse(final CharSequence fen) {
+        final int length = fen.length();
+        int i = skipSpaces(fen, 0);
+
+        final Cell[] board = new Cell[64];
+        Arrays.fill(board, Cell.EMPTY);
+        int rank = 7;
+        int file = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) {
+            final char c = fen.charAt(i);
+            if (c == '/') {
+                if (file != 8 || rank == 0) throw invalid(fen, "bad rank " + (rank + 1));
+                rank--;
+                file = 0;
+            } else if ('1' <= c && c <= '8') {
+                file += c - '0';
+                if (file > 8) throw invalid(fen, "bad rank " + (rank + 1));
+            } else {
+                final Cell cell = c < PIECES.length ? PIECES[c] : null;
+                if (cell == null || file > 7) throw invalid(fen, "unexpected '" + c + "'");
+                board[rank << 3 | file++] = cell;
+            }
+        }
+        if (rank != 0 || file != 8) throw invalid(fen, "piece placement is incomplete");
+        int whiteKings = 0;
+        int blackKings = 0;
+        for (int square = 0; square < 64; square++) {
+            final Cell cell = board[square];
+            if (cell == Cell.WHITE_KING) whiteKings++;
+            if (cell == Cell.BLACK_KING) blackKings++;
+            if ((cell == Cell.WHITE_PAWN || cell == Cell.BLACK_PAWN) && (square < 8 || square >= 56)) {
+                throw invalid(fen, "pawn on the first or eighth rank");
+            }
+        }
+        if (whiteKings != 1 || blackKings != 1) throw invalid(fen, "each side needs exactly one king");
+
+        i = skipSpaces(fen, i);
+        if (i >= length) throw invalid(fen, "side to move is missing");
+        final Turn turn = switch (fen.charAt(i++)) {
+            case 'w' -> Turn.WHITE;
+            case 'b' -> Turn.BLACK;
+            default -> throw invalid(fen, "bad side to move");
+        };
+
+        i = skipSpaces(fen, i);
+        int castlingRights = 0;
+        if (i < length && fen.charAt(i) == '-') {
+            i++;
+        } else {
+            for (; i < length && fen.charAt(i) != ' '; i++) {
+                castlingRights |= switch (fen.charAt(i)) {
+                    case 'K' -> 1;
+                    case 'Q' -> 2;
+                    case 'k' -> 4;
+                    case 'q' -> 8;
+                    default -> throw invalid(fen, "bad castling rights");
+                };
+            }
+        }
+
+        i = skipSpaces(fen, i);
+        int enPassant = -1;
+        if (i < length && fen.charAt(i) == '-') {
+            i++;
+        } else if (i < length) {
+            if (i + 1 >= length) throw invalid(fen, "bad en passant square");
+            final int x = fen.charAt(i) - 'a';
+            final int y = fen.charAt(i + 1) - '1';
+            if (x < 0 || x > 7 || y != (turn == Turn.WHITE ? 5 : 2)) throw invalid(fen, "bad en passant square");
+            enPassant = y << 3 | x;
+            i += 2;
+        }
+
+        i = skipSpaces(fen, i);
+        int halfmoveClock = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) halfmoveClock = 10 * halfmoveClock + digit(fen, i);
+
+        i = skipSpaces(fen, i);
+        int fullmoveNumber = 0;
+        for (; i < length && fen.charAt(i) != ' '; i++) fullmoveNumber = 10 * fullmoveNumber + digit(fen, i);
+
+        return new Fen(board, turn, castlingRights, enPassant, halfmoveClock, Math.max(fullmoveNumber, 1));
+    }
+
+    public Cell getCell(final int square) {
+        return board[square];
+    }
+
+    private static int skipSpaces(final CharSequence fen, int i) {
+        while (i < fen.length() && fen.charAt(i) == ' ') i++;
+        return i;
+    }
+
+    private static int digit(final CharSequence fen, final int i) {
+        final int digit = fen.charAt(i) - '0';
+        if (digit < 0 || digit > 9) throw invalid(fen, "bad move counter");
+        return digit;
+    }
+
+    private static IllegalArgumentException invalid(final CharSequence fen, final String reason) {
+        return new IllegalArgumentException("Invalid FEN (" + reason + "): " + fen);
+    }
+}
@@ -0,0 +1,194 @@
+package com.gmail.vusketta.board;
+
+import com.gmail.vusketta.MoveList;
+import com.gmail.vusketta.metrics.Metrics;
+
+import static com.gmail.vusketta.PackedMove.CAPTURE;
+import static com.gmail.vusketta.PackedMove.CASTLING;
+import static com.gmail.vusketta.PackedMove.EN_PASSANT;
+
+public class MoveGenerator {
+    public static final int CAPTURES = 1, QUIETS = 2, ALL = CAPTURES | QUIETS;
+
+    private static final int WHITE = 0, BLACK = 1;
+    private static final int PAWN = 0, ROOK = 1, KNIGHT = 2, BISHOP = 3, QUEEN = 4, KING = 5;
+    private static final long RANK_1 = 0xFFL, RANK_8 = RANK_1 << 56;
+    private static final long PROMOTION_RANKS = RANK_1 | RANK_8;
+
+    public static void generate(final long[] pieces, final int color, final int castlingRights, final int enPassant,
+                                final int stage, final MoveList moves) {
+        if (Metrics.HOT_PATH) Metrics.MOVE_GENERATIONS.increment();
+        final int them = color ^ 1;
+        final long own = occupancy(pieces, color);
+        final long enemy = occupancy(pieces, them);
+        final long occupied = own | enemy;
+        final int king = Long.numberOfTrailingZeros(pieces[KING << 1 | color]);
+        final long checkers = attackers(pieces, king, them, occupied);
+
+        final long kingTargets = Attacks.kingAttacks(king) & ~own & stageMask(stage, enemy, occupied);
+        addKingMoves(pieces, king, them, occupied, enemy, kingTargets, moves);
+        if (Long.bitCount(checkers) > 1) return;
+
+        final long checkMask = checkers == 0 ? ~0L : checkers | Attacks.between(king, Long.numberOfTrailingZeros(checkers));
+        final long pinned = pinned(pieces, king, color, own, occupied);
+
+        long pawns = pieces[PAWN << 1 | color];
+        while (pawns != 0) {
+            final int from = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            final long pin = (pinned & 1L << from) == 0 ? ~0L : Attacks.line(king, from);
+            final long push = color == WHITE ? 1L << from << 8 & ~occupied : 1L << from >>> 8 & ~occupied;
+            final long doublePush = color == WHITE ? (push & RANK_1 << 16) << 8 & ~occupied
+                    : (push & RANK_8 >>> 16) >>> 8 & ~occupied;
+            final long captures = Attacks.pawnAttacks(color == WHITE, from) & enemy;
+            final long legal = pin & checkMask;
+            if ((stage & CAPTURES) != 0) {
+                addPawnMoves(from, captures & legal, true, true, CAPTURE, moves);
+                addPawnMoves(from, push & legal & PROMOTION_RANKS, true, false, 0, moves);
+                if (enPassant != -1 && (Attacks.pawnAttacks(color == WHITE, from) & 1L << enPassant) != 0 &&
+                        isEnPassantLegal(pieces, from, enPassant, color, king, occupied)) {
+                    moves.add(from | enPassant << 6 | CAPTURE | EN_PASSANT);
+                }
+            }
+            if ((stage & QUIETS) != 0) {
+                addPawnMoves(from, push & legal & PROMOTION_RANKS, false, true, 0, moves);
+                addPawnMoves(from, (push | doublePush) & legal & ~PROMOTION_RANKS, true, true, 0, moves);
+            }
+        }
+
+        final long targetMask = ~own & checkMask & stageMask(stage, enemy, occupied);
+        for (int type = ROOK; type <= QUEEN; type++) {
+            long bits = pieces[type << 1 | color];
+            while (bits != 0) {
+                final int from = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                long targets = switch (type) {
+                    case ROOK -> Attacks.rookAttacks(from, occupied);
+                    case KNIGHT -> Attacks.knightAttacks(from);
+                    case BISHOP -> Attacks.bishopAttacks(from, occupied);
+                    default -> Attacks.queenAttacks(from, occupied);
+                } & targetMask;
+                if ((pinned & 1L << from) != 0) targets &= Attacks.line(king, from);
+                while (targets != 0) {
+                    final int to = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                    moves.add(from | to << 6 | ((enemy & 1L << to) != 0 ? CAPTURE : 0));
+                }
+            }
+        }
+
+        if ((stage & QUIETS) != 0 && checkers == 0) {
+            addCastling(pieces, color, castlingRights, occupied, moves);
+        }
+    }
+
+    public static boolean hasLegalMove(final long[] pieces, final int color, final int castlingRights,
+                                       final int enPassant, final MoveList moves) {
+        moves.clear();
+        generate(pieces, color, castlingRights, enPassant, ALL, moves);
+        return !moves.isEmpty();
+    }
+
+    public static boolean isAttacked(final long[] pieces, final int square, final int byColor, final long occupied) {
+        return attackers(pieces, square, byColor, occupied) != 0;
+    }
+
+    private static long attackers(final long[] pieces, final int square, final int byColor, final long occupied) {
+        final long queens = pieces[QUEEN << 1 | byColor];
+        return Attacks.pawnAttacks(byColor == BLACK, square) & pieces[PAWN << 1 | byColor] |
+                Attacks.knightAttacks(square) & pieces[KNIGHT << 1 | byColor] |
+                Attacks.kingAttacks(square) & pieces[KING << 1 | byColor] |
+                Attacks.rookAttacks(square, occupied) & (pieces[ROOK << 1 | byColor] | queens) |
+                Attacks.bishopAttacks(square, occupied) & (pieces[BISHOP << 1 | byColor] | queens);
+    }
+
+    private static long pinned(final long[] pieces, final int king, final int color, final long own,
+                               final long occupied) {
+        final int them = color ^ 1;
+        final long queens = pieces[QUEEN << 1 | them];
+        long snipers = Attacks.rookAttacks(king, 0) & (pieces[ROOK << 1 | them] | queens) |
+                Attacks.bishopAttacks(king, 0) & (pieces[BISHOP << 1 | them] | queens);
+        long pinned = 0;
+        while (snipers != 0) {
+            final int sniper = Long.numberOfTrailingZeros(snipers);
+            snipers &= snipers - 1;
+            final long blockers = Attacks.between(king, sniper) & occupied;
+            if (Long.bitCount(blockers) == 1) pinned |= blockers & own;
+        }
+        return pinned;
+    }
+
+    private static void addKingMoves(final long[] pieces, final int king, final int them, final long occupied,
+                                     final long enemy, long targets, final MoveList moves) {
+        final long withoutKing = occupied & ~(1L << king);
+        while (targets != 0) {
+            final int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            if (attackers(pieces, to, them, withoutKing) == 0) {
+                moves.add(king | to << 6 | ((enemy & 1L << to) != 0 ? CAPTURE : 0));
+            }
+        }
+    }
+
+    private static void addPawnMoves(final int from, long targets, final boolean queen, final boolean others,
+                                     final int flags, final MoveList moves) {
+        while (targets != 0) {
+            final int to = Long.numberOfTrailingZeros(targets);
+            targets &= targets - 1;
+            final int move = from | to << 6 | flags;
+            if (to >= 8 && to < 56) {
+                moves.add(move);
+                continue;
+            }
+            if (queen) moves.add(move | QUEEN << 12);
+            if (others) {
+                moves.add(move | ROOK << 12);
+                moves.add(move | BISHOP << 12);
+                moves.add(move | KNIGHT << 12);
+            }
+        }
+    }
+
+    private static boolean isEnPassantLegal(final long[] pieces, final int from, final int to, final int color,
+                                            final int king, final long occupied) {
+        final int captured = to + (color == WHITE ? -8 : 8);
+        final long after = occupied ^ 1L << from ^ 1L << to ^ 1L << captured;
+        final int them = color ^ 1;
+        final long queens = pieces[QUEEN << 1 | them];
+        final long knightsAndPawns = Attacks.knightAttacks(king) & pieces[KNIGHT << 1 | them] |
+                Attacks.pawnAttacks(color == WHITE, king) & pieces[PAWN << 1 | them] & ~(1L << captured);
+        return knightsAndPawns == 0 &&
+                (Attacks.rookAttacks(king, after) & (pieces[ROOK << 1 | them] | queens)) == 0 &&
+                (Attacks.bishopAttacks(king, after) & (pieces[BISHOP << 1 | them] | queens)) == 0;
+    }
+
+    private static void addCastling(final long[] pieces, final int color, final int castlingRights,
+                                    final long occupied, final MoveList moves) {
+        final int shift = color == WHITE ? 0 : 2;
+        final int base = color == WHITE ? 0 : 56;
+        final long rooks = pieces[ROOK << 1 | color];
+        if ((pieces[KING << 1 | color] & 1L << base + 4) == 0) return;
+        if ((castlingRights >>> shift & 1) != 0 && (occupied & 0x60L << base) == 0 && (rooks & 1L << base + 7) != 0 &&
+                !isAttacked(pieces, base + 5, color ^ 1, occupied) && !isAttacked(pieces, base + 6, color ^ 1, occupied)) {
+            moves.add(base + 4 | base + 6 << 6 | CASTLING);
+        }
+        if ((castlingRights >>> shift & 2) != 0 && (occupied & 0x0EL << base) == 0 && (rooks & 1L << base) != 0 &&
+                !isAttacked(pieces, base + 3, color ^ 1, occupied) && !isAttacked(pieces, base + 2, color ^ 1, occupied)) {
+            moves.add(base + 4 | base + 2 << 6 | CASTLING);
+        }
+    }
+
+    private static long stageMask(final int stage, final long enemy, final long occupied) {
+        return switch (stage) {
+            case CAPTURES -> enemy;
+            case QUIETS -> ~occupied;
+            default -> ~0L;
+        };
+    }
+
+    private static long occupancy(final long[] pieces, final int color) {
+        long occupancy = 0;
+        for (int type = PAWN; type <= KING; type++) occupancy |= pieces[type << 1 | color];
+        return occupancy;
+    }
+}
@@ -0,0 +1,140 @@
+package com.gmail.vusketta.board;
+
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.Turn;
+
+public class PieceSquareTables {
+    public static final int MAX_PHASE = 24;
+
+    private static final int[] MG_VALUES = {82, 477, 337, 365, 1025, 0};
+    private static final int[] EG_VALUES = {94, 512, 281, 297, 936, 0};
+    private static final int[] PHASES = {0, 2, 1, 1, 4, 0};
+
+    private static final int[] PAWN_MG = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            10, 10, 20, 30, 30, 20, 10, 10,
+            5, 5, 10, 25, 25, 10, 5, 5,
+            0, 0, 0, 20, 20, 0, 0, 0,
+            5, -5, -10, 0, 0, -10, -5, 5,
+            5, 10, 10, -20, -20, 10, 10, 5,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+    private static final int[] PAWN_EG = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            80, 80, 80, 80, 80, 80, 80, 80,
+            50, 50, 50, 50, 50, 50, 50, 50,
+            30, 30, 30, 30, 30, 30, 30, 30,
+            15, 15, 15, 15, 15, 15, 15, 15,
+            5, 5, 5, 5, 5, 5, 5, 5,
+            0, 0, 0, 0, 0, 0, 0, 0,
+            0, 0, 0, 0, 0, 0, 0, 0
+    };
+    private static final int[] ROOK = {
+            0, 0, 0, 0, 0, 0, 0, 0,
+            5, 10, 10, 10, 10, 10, 10, 5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            -5, 0, 0, 0, 0, 0, 0, -5,
+            0, 0, 0, 5, 5, 0, 0, 0
+    };
+    private static final int[] KNIGHT = {
+            -50, -40, -30, -30, -30, -30, -40, -50,
+            -40, -20, 0, 0, 0, 0, -20, -40,
+            -30, 0, 10, 15, 15, 10, 0, -30,
+            -30, 5, 15, 20, 20, 15, 5, -30,
+            -30, 0, 15, 20, 20, 15, 0, -30,
+            -30, 5, 10, 15, 15, 10, 5, -30,
+            -40, -20, 0, 5, 5, 0, -20, -40,
+            -50, -40, -30, -30, -30, -30, -40, -50
+    };
+    private static final int[] BISHOP = {
+            -20, -10, -10, -10, -10, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 10, 10, 5, 0, -10,
+            -10, 5, 5, 10, 10, 5, 5, -10,
+            -10, 0, 10, 10, 10, 10, 0, -10,
+            -10, 10, 10, 10, 10, 10, 10, -10,
+            -10, 5, 0, 0, 0, 0, 5, -10,
+            -20, -10, -10, -10, -10, -10, -10, -20
+    };
+    private static final int[] QUEEN = {
+            -20, -10, -10, -5, -5, -10, -10, -20,
+            -10, 0, 0, 0, 0, 0, 0, -10,
+            -10, 0, 5, 5, 5, 5, 0, -10,
+            -5, 0, 5, 5, 5, 5, 0, -5,
+            0, 0, 5, 5, 5, 5, 0, -5,
+            -10, 5, 5, 5, 5, 5, 0, -10,
+            -10, 0, 5, 0, 0, 0, 0, -10,
+            -20, -10, -10, -5, -5, -10, -10, -20
+    };
+    private static final int[] KING_MG = {
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -30, -40, -40, -50, -50, -40, -40, -30,
+            -20, -30, -30, -40, -40, -30, -30, -20,
+            -10, -20, -20, -20, -20, -20, -20, -10,
+            20, 20, 0, 0, 0, 0, 20, 20,
+            20, 30, 10, 0, 0, 10, 30, 20
+    };
+    private static final int[] KING_EG = {
+            -50, -40, -30, -20, -20, -30, -40, -50,
+            -30, -20, -10, 0, 0, -10, -20, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 30, 40, 40, 30, -10, -30,
+            -30, -10, 20, 30, 30, 20, -10, -30,
+            -30, -30, 0, 0, 0, 0, -30, -30,
+            -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    private static final int[][] MG = new int[12][64];
+    private static final int[][] EG = new int[12][64];
+
+    static {
+        final int[][] mgTables = {PAWN_MG, ROOK, KNIGHT, BISHOP, QUEEN, KING_MG};
+        final int[][] egTables = {PAWN_EG, ROOK, KNIGHT, BISHOP, QUEEN, KING_EG};
+        for (int type = 0; type < 6; type++) {
+            for (int square = 0; square < 64; square++) {
+                MG[type << 1][square] = MG_VALUES[type] + mgTables[type][square ^ 56];
+                EG[type << 1][square] = EG_VALUES[type] + egTables[type][square ^ 56];
+                MG[type << 1 | 1][square] = -(MG_VALUES[type] + mgTables[type][square]);
+                EG[type << 1 | 1][square] = -(EG_VALUES[type] + egTables[type][square]);
+            }
+        }
+    }
+
+    public static int mg(final Cell cell, final int square) {
+        return cell.isEmpty() ? 0 : MG[cell.ordinal()][square];
+    }
+
+    public static int eg(final Cell cell, final int square) {
+        return cell.isEmpty() ? 0 : EG[cell.ordinal()][square];
+    }
+
+    public static int phase(final Cell cell) {
+        return cell.isEmpty() ? 0 : PHASES[cell.ordinal() >> 1];
+    }
+
+    public static int taper(final int mg, final int eg, final int phase, final Turn turn) {
+        final int clamped = Math.min(phase, MAX_PHASE);
+        final int score = (mg * clamped + eg * (MAX_PHASE - clamped)) / MAX_PHASE;
+        return turn == Turn.WHITE ? score : -score;
+    }
+
+    public static int compute(final Position position) {
+        int mg = 0;
+        int eg = 0;
+        int phase = 0;
+        for (int square = 0; square < 64; square++) {
+            final Cell cell = position.getCell(square >>> 3, square & 7);
+            mg += mg(cell, square);
+            eg += eg(cell, square);
+            phase += phase(cell);
+        }
+        return taper(mg, eg, phase, position.getTurn());
+    }
+}
@@ -0,0 +1,464 @@
+package com.gmail.vusketta.board;
+
+import com.gmail.vusketta.*;
+import com.gmail.vusketta.exceptions.CellCanNotBeUnderAttack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public final class PositionSnapshot implements Position {
+    private static final Cell[] CELLS = Cell.values();
+    private static final int WHITE = 0, BLACK = 1;
+    private static final int PAWN = 0, QUEEN = 4, KING = 5;
+    private static final long LOW = 0x7777777777777777L, HIGH = 0x8888888888888888L, ONES = 0x1111111111111111L;
+    private static final long[] NO_HISTORY = {};
+
+    private final long[] squares;
+    private final long state;
+    private final long zobristKey, pawnKey;
+    private final int mgScore, egScore, phase;
+    private final PositionSnapshot parent;
+    private final long[] history;
+    private volatile long[] bitboards;
+
+    private PositionSnapshot(final Builder builder, final long state, final PositionSnapshot parent,
+                             final long[] history) {
+        this.squares = builder.squares;
+        this.state = state;
+        this.zobristKey = builder.zobristKey;
+        this.pawnKey = builder.pawnKey;
+        this.mgScore = builder.mgScore;
+        this.egScore = builder.egScore;
+        this.phase = builder.phase;
+        this.parent = parent;
+        this.history = history;
+    }
+
+    public static PositionSnapshot of(final String fen) {
+        final Fen parsed = Fen.parse(fen);
+        final Builder builder = new Builder(new long[4]);
+        for (int square = 0; square < 64; square++) {
+            if (!parsed.getCell(square).isEmpty()) builder.put(square, parsed.getCell(square));
+        }
+        return builder.root(parsed.turn(), parsed.castlingRights(), parsed.enPassant())
+                .build(parsed.turn(), parsed.castlingRights(), parsed.enPassant(), parsed.halfmoveClock(),
+                        parsed.fullmoveNumber(), null, NO_HISTORY);
+    }
+
+    public static PositionSnapshot of(final Position position) {
+        return position.snapshot();
+    }
+
+    static PositionSnapshot of(final Position position, final int fullmoveNumber, final long[] history) {
+        final Builder builder = new Builder(new long[4]);
+        final long[] pieces = new long[12];
+        for (int ordinal = 0; ordinal < 12; ordinal++) {
+            long bits = pieces[ordinal] = position.getPieces(CELLS[ordinal]);
+            while (bits != 0) {
+                builder.put(Long.numberOfTrailingZeros(bits), CELLS[ordinal]);
+                bits &= bits - 1;
+            }
+        }
+        final Turn turn = position.getTurn();
+        final PositionSnapshot snapshot = builder.root(turn, position.getCastlingRights(), position.getEnPassant())
+                .build(turn, position.getCastlingRights(), position.getEnPassant(), position.getHalfmoveClock(),
+                        fullmoveNumber, null, history);
+        snapshot.bitboards = pieces;
+        return snapshot;
+    }
+
+    public PositionSnapshot play(final int move) {
+        final int promotion = PackedMove.promotion(move);
+        final int from = PackedMove.from(move);
+        return play(from, PackedMove.to(move), promotion == 0 ? null : CELLS[promotion << 1 | color(cell(from))]);
+    }
+
+    public PositionSnapshot play(final Move move) {
+        return play(square(move.from()), square(move.to()), move.promotion());
+    }
+
+    private PositionSnapshot play(final int from, final int to, final Cell promotion) {
+        final Cell piece = cell(from);
+        final int color = color(piece);
+        final int type = type(piece);
+        final int enPassant = getEnPassant();
+        final int castlingRights = getCastlingRights();
+        final int capturedAt = type == PAWN && to == enPassant ? to + (color == WHITE ? -8 : 8) : to;
+        final Cell captured = cell(capturedAt);
+
+        final Builder next = new Builder(squares.clone());
+        next.zobristKey = zobristKey;
+        next.pawnKey = pawnKey;
+        next.mgScore = mgScore;
+        next.egScore = egScore;
+        next.phase = phase;
+        if (!captured.isEmpty()) next.remove(capturedAt, captured);
+        next.remove(from, piece);
+        if (type == PAWN && (to < 8 || to >= 56)) {
+            next.put(to, promotion == null ? CELLS[QUEEN << 1 | color] : promotion);
+        } else {
+            next.put(to, piece);
+        }
+        final int dx = (to & 7) - (from & 7);
+        if (type == KING && Math.abs(dx) == 2) {
+            final int rookFrom = dx == 2 ? from + 3 : from - 4;
+            final int rookTo = dx == 2 ? from + 1 : from - 1;
+            final Cell rook = cell(rookFrom);
+            next.remove(rookFrom, rook);
+            next.put(rookTo, rook);
+        }
+
+        final int nextEnPassant = type == PAWN && Math.abs(to - from) == 16 ? (from + to) >>> 1 : -1;
+        final int nextRights = castlingRights & castlingMask(from) & castlingMask(to);
+        if (enPassant != -1) next.zobristKey ^= Zobrist.enPassant(enPassant & 7);
+        if (nextEnPassant != -1) next.zobristKey ^= Zobrist.enPassant(nextEnPassant & 7);
+        next.zobristKey ^= Zobrist.castling(castlingRights) ^ Zobrist.castling(nextRights) ^ Zobrist.side();
+
+        final boolean isIrreversible = type == PAWN || !captured.isEmpty();
+        return next.build(color == WHITE ? Turn.BLACK : Turn.WHITE, nextRights, nextEnPassant,
+                isIrreversible ? 0 : getHalfmoveClock() + 1, getFullmoveNumber() + color,
+                isIrreversible ? null : this, NO_HISTORY);
+    }
+
+    @Override
+    public PositionSnapshot snapshot() {
+        return this;
+    }
+
+    @Override
+    public Turn getTurn() {
+        return (state & 1) == 0 ? Turn.WHITE : Turn.BLACK;
+    }
+
+    @Override
+    public boolean isValid(final Move move) {
+        if (!BoardUtils.inside(move.from()) || !BoardUtils.inside(move.to())) return false;
+        final List<Move> moves = possibleMoves(move.from());
+        if (move.promotion() != null || moves.contains(move)) return moves.contains(move);
+        return moves.contains(Move.of(move.from(), move.to(), getCell(move.from()).isWhite() ? Cell.WHITE_QUEEN : Cell.BLACK_QUEEN));
+    }
+
+    @Override
+    public boolean isUnderAttack(final Coordinate coordinate) {
+        final Cell piece = getCell(coordinate);
+        if (piece.isEmpty()) throw new CellCanNotBeUnderAttack(piece);
+        return MoveGenerator.isAttacked(bitboards(), square(coordinate), piece.isWhite() ? BLACK : WHITE, occupied());
+    }
+
+    @Override
+    public List<Move> possibleMoves(final Coordinate coordinate) {
+        assert (BoardUtils.inside(coordinate));
+        final MoveList legal = new MoveList();
+        legalMoves(legal);
+        final List<Move> moves = new ArrayList<>();
+        final int from = square(coordinate);
+        for (int i = 0; i < legal.size(); i++) {
+            if (PackedMove.from(legal.get(i)) == from) moves.add(Move.unpack(legal.get(i), getTurn()));
+        }
+        return moves;
+    }
+
+    @Override
+    public List<Move> legalMoves() {
+        final MoveList moves = new MoveList();
+        legalMoves(moves);
+        return unpack(moves);
+    }
+
+    @Override
+    public List<Move> legalCaptures() {
+        final MoveList moves = new MoveList();
+        legalCaptures(moves);
+        return unpack(moves);
+    }
+
+    @Override
+    public void legalMoves(final MoveList moves) {
+        final long[] pieces = bitboards();
+        moves.clear();
+        MoveGenerator.generate(pieces, sideToMove(), getCastlingRights(), getEnPassant(), MoveGenerator.CAPTURES, moves);
+        MoveGenerator.generate(pieces, sideToMove(), getCastlingRights(), getEnPassant(), MoveGenerator.QUIETS, moves);
+    }
+
+    @Override
+    public void legalCaptures(final MoveList moves) {
+        moves.clear();
+        MoveGenerator.generate(bitboards(), sideToMove(), getCastlingRights(), getEnPassant(),
+                MoveGenerator.CAPTURES, moves);
+    }
+
+    @Override
+    public boolean isInCheck() {
+        final long[] pieces = bitboards();
+        final int king = Long.numberOfTrailingZeros(pieces[KING << 1 | sideToMove()]);
+        return MoveGenerator.isAttacked(pieces, king, sideToMove() ^ 1, occupied());
+    }
+
+    @Override
+    public Cell getCell(final int row, final int column) {
+        assert (BoardUtils.inside(Coordinate.of(column, row)));
+        return cell(row << 3 | column);
+    }
+
+    @Override
+    public Cell getCell(final Coordinate coordinate) {
+        return getCell(coordinate.y(), coordinate.x());
+    }
+
+    @Override
+    public List<Coordinate> getPieceCoordinates() {
+        final List<Coordinate> coordinates = new ArrayList<>();
+        for (int square = 0; square < 64; square++) {
+            final Cell cell = cell(square);
+            if (!cell.isEmpty() && color(cell) == sideToMove()) coordinates.add(coordinate(square));
+        }
+        return coordinates;
+    }
+
+    @Override
+    public String getFen() {
+        final StringBuilder stringBuilder = new StringBuilder();
+        for (int y = 7; y >= 0; y--) {
+            int countOfEmptyCells = 0;
+            for (int x = 0; x < 8; x++) {
+                final Cell cell = cell(y << 3 | x);
+                if (cell.isEmpty()) countOfEmptyCells++;
+                else {
+                    if (countOfEmptyCells != 0) {
+                        stringBuilder.append(countOfEmptyCells);
+                        countOfEmptyCells = 0;
+                    }
+                    stringBuilder.append(cell);
+                }
+            }
+            if (countOfEmptyCells != 0) stringBuilder.append(countOfEmptyCells);
+            if (y != 0) stringBuilder.append("/");
+        }
+        final int castlingRights = getCastlingRights();
+        stringBuilder.append(" ").append(getTurn() == Turn.WHITE ? "w" : "b").append(" ");
+        if (castlingRights == 0) stringBuilder.append("-");
+        if ((castlingRights & 1) != 0) stringBuilder.append("K");
+        if ((castlingRights & 2) != 0) stringBuilder.append("Q");
+        if ((castlingRights & 4) != 0) stringBuilder.append("k");
+        if ((castlingRights & 8) != 0) stringBuilder.append("q");
+        stringBuilder.append(" ").append(getEnPassant() == -1 ? "-" : coordinate(getEnPassant()));
+        stringBuilder.append(" ").append(getHalfmoveClock()).append(" ").append(getFullmoveNumber());
+        return stringBuilder.toString();
+    }
+
+    @Override
+    public long getZobristKey() {
+        return zobristKey;
+    }
+
+    @Override
+    public long getPawnKey() {
+        return pawnKey;
+    }
+
+    @Override
+    public int getCastlingRights() {
+        return (int) (state >>> 1 & 15);
+    }
+
+    @Override
+    public int getEnPassant() {
+        return (int) (state >>> 5 & 127) - 1;
+    }
+
+    @Override
+    public int getHalfmoveClock() {
+        return (int) (state >>> 12 & 0xFFFFF);
+    }
+
+    public int getFullmoveNumber() {
+        return (int) (state >>> 32);
+    }
+
+    @Override
+    public long getPieces(final Cell cell) {
+        final long pattern = (cell.ordinal() + 1) * ONES;
+        long pieces = 0;
+        for (int word = 0; word < 4; word++) {
+            final long diff = squares[word] ^ pattern;
+            pieces |= Long.compress(~((diff & LOW) + LOW | diff) & HIGH, HIGH) << (word << 4);
+        }
+        return pieces;
+    }
+
+    @Override
+    public int getEvaluation() {
+        return PieceSquareTables.taper(mgScore, egScore, phase, getTurn());
+    }
+
+    @Override
+    public int getPhase() {
+        return phase;
+    }
+
+    @Override
+    public boolean isDrawByRule() {
+        return getHalfmoveClock() >= 100 || isThreefoldRepetition();
+    }
+
+    public long[] getRecentKeys() {
+        final long[] keys = new long[getHalfmoveClock()];
+        int distance = 0;
+        PositionSnapshot node = this;
+        while (node.parent != null && distance < keys.length) {
+            node = node.parent;
+            keys[distance++] = node.zobristKey;
+        }
+        for (int i = 0; i < node.history.length && distance < keys.length; i++) keys[distance++] = node.history[i];
+        return distance == keys.length ? keys : Arrays.copyOf(keys, distance);
+    }
+
+    private boolean isThreefoldRepetition() {
+        final int window = getHalfmoveClock();
+        int repetitions = 1;
+        int distance = 0;
+        PositionSnapshot node = this;
+        while (node.parent != null && distance < window) {
+            node = node.parent;
+            if (++distance % 2 == 0 && node.zobristKey == zobristKey && ++repetitions == 3) return true;
+        }
+        for (int i = 0; i < node.history.length && distance < window; i++) {
+            if (++distance % 2 == 0 && node.history[i] == zobristKey && ++repetitions == 3) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return o instanceof PositionSnapshot other && zobristKey == other.zobristKey &&
+                (state & 0xFFF) == (other.state & 0xFFF) && Arrays.equals(squares, other.squares);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(zobristKey);
+    }
+
+    private Cell cell(final int square) {
+        final int nibble = (int) (squares[square >>> 4] >>> ((square & 15) << 2) & 15);
+        return nibble == 0 ? Cell.EMPTY : CELLS[nibble - 1];
+    }
+
+    private long[] bitboards() {
+        long[] pieces = bitboards;
+        if (pieces == null) {
+            pieces = new long[12];
+            for (int cell = 0; cell < 12; cell++) pieces[cell] = getPieces(CELLS[cell]);
+            bitboards = pieces;
+        }
+        return pieces;
+    }
+
+    private long occupied() {
+        long occupied = 0;
+        for (int word = 0; word < 4; word++) {
+            final long nibbles = squares[word];
+            occupied |= Long.compress((nibbles & LOW) + LOW | nibbles, HIGH) << (word << 4);
+        }
+        return occupied;
+    }
+
+    private int sideToMove() {
+        return (int) (state & 1);
+    }
+
+    private List<Move> unpack(final MoveList packed) {
+        final List<Move> moves = new ArrayList<>(packed.size());
+        for (int i = 0; i < packed.size(); i++) moves.add(Move.unpack(packed.get(i), getTurn()));
+        return moves;
+    }
+
+    private static int castlingMask(final int square) {
+        return switch (square) {
+            case 0 -> ~2;
+            case 4 -> ~3;
+            case 7 -> ~1;
+            case 56 -> ~8;
+            case 60 -> ~12;
+            case 63 -> ~4;
+            default -> ~0;
+        };
+    }
+
+    private static int color(final Cell cell) {
+        return cell.ordinal() & 1;
+    }
+
+    private static int type(final Cell cell) {
+        return cell.ordinal() >>> 1;
+    }
+
+    private static int square(final Coordinate coordinate) {
+        return coordinate.y() << 3 | coordinate.x();
+    }
+
+    private static Coordinate coordinate(final int square) {
+        return Coordinate.of(square & 7, square >>> 3);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("  a b c d e f g h");
+        sb.append(System.lineSeparator());
+
+        for (int y = 7; y >= 0; y--) {
+            sb.append(y + 1).append(" ");
+            for (int x = 0; x < 8; x++) {
+                sb.append(cell(y << 3 | x)).append(" ");
+            }
+            sb.append(y + 1).append(System.lineSeparator());
+        }
+
+        sb.append("  a b c d e f g h");
+        return sb.toString();
+    }
+
+    private static class Builder {
+        private final long[] squares;
+        private long zobristKey, pawnKey;
+        private int mgScore, egScore, phase;
+
+        private Builder(final long[] squares) {
+            this.squares = squares;
+        }
+
+        private void put(final int square, final Cell cell) {
+            squares[square >>> 4] |= (long) (cell.ordinal() + 1) << ((square & 15) << 2);
+            update(square, cell, 1);
+        }
+
+        private void remove(final int square, final Cell cell) {
+            squares[square >>> 4] &= ~(15L << ((square & 15) << 2));
+            update(square, cell, -1);
+        }
+
+        private void update(final int square, final Cell cell, final int sign) {
+            zobristKey ^= Zobrist.piece(cell, square);
+            pawnKey ^= Zobrist.pawn(cell, square);
+            mgScore += sign * PieceSquareTables.mg(cell, square);
+            egScore += sign * PieceSquareTables.eg(cell, square);
+            phase += sign * PieceSquareTables.phase(cell);
+        }
+
+        private Builder root(final Turn turn, final int castlingRights, final int enPassant) {
+            zobristKey ^= Zobrist.castling(castlingRights);
+            if (turn == Turn.BLACK) zobristKey ^= Zobrist.side();
+            if (enPassant != -1) zobristKey ^= Zobrist.enPassant(enPassant & 7);
+            return this;
+        }
+
+        private PositionSnapshot build(final Turn turn, final int castlingRights, final int enPassant,
+                                       final int halfmoveClock, final int fullmoveNumber,
+                                       final PositionSnapshot parent, final long[] history) {
+            final long state = (turn == Turn.WHITE ? 0 : 1) | castlingRights << 1 | enPassant + 1 << 5 |
+                    (long) Math.min(halfmoveClock, 0xFFFFF) << 12 | (long) fullmoveNumber << 32;
+            return new PositionSnapshot(this, state, parent, history);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.gmail.vusketta.board;
+
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.Turn;
+
+import java.util.SplittableRandom;
+
+public class Zobrist {
+    private static final long[][] PIECES = new long[12][64];
+    private static final long[] CASTLING = new long[16];
+    private static final long[] EN_PASSANT = new long[8];
+    private static final long SIDE;
+
+    static {
+        final SplittableRandom random = new SplittableRandom(0x2F0B215L);
+        for (long[] piece : PIECES) {
+            for (int square = 0; square < 64; square++) piece[square] = random.nextLong();
+        }
+        final long[] rights = {random.nextLong(), random.nextLong(), random.nextLong(), random.nextLong()};
+        for (int mask = 0; mask < 16; mask++) {
+            for (int i = 0; i < 4; i++) {
+                if ((mask >> i & 1) != 0) CASTLING[mask] ^= rights[i];
+            }
+        }
+        for (int file = 0; file < 8; file++) EN_PASSANT[file] = random.nextLong();
+        SIDE = random.nextLong();
+    }
+
+    public static long piece(final Cell cell, final int square) {
+        return cell.isEmpty() ? 0 : PIECES[cell.ordinal()][square];
+    }
+
+    public static long pawn(final Cell cell, final int square) {
+        return cell == Cell.WHITE_PAWN || cell == Cell.BLACK_PAWN ? PIECES[cell.ordinal()][square] : 0;
+    }
+
+    public static long castling(final int rights) {
+        return CASTLING[rights];
+    }
+
+    public static long enPassant(final int file) {
+        return EN_PASSANT[file];
+    }
+
+    public static long side() {
+        return SIDE;
+    }
+
+    public static long compute(final Position position) {
+        long key = 0;
+        for (int square = 0; square < 64; square++) {
+            key ^= piece(position.getCell(square >>> 3, square & 7), square);
+        }
+        final Fen fen = Fen.parse(position.getFen());
+        if (fen.turn() == Turn.BLACK) key ^= SIDE;
+        key ^= CASTLING[fen.castlingRights()];
+        if (fen.enPassant() != -1) key ^= EN_PASSANT[fen.enPassant() & 7];
+        return key;
+    }
+
+    public static long computePawnKey(final Position position) {
+        long key = 0;
+        for (int square = 0; square < 64; square++) {
+            key ^= pawn(position.getCell(square >>> 3, square & 7), square);
+        }
+        return key;
+    }
+}
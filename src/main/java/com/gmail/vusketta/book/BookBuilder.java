@@ -0,0 +1,85 @@
+package com.gmail.vusketta.book;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+public class BookBuilder {
+    private final Map<Long, Map<Integer, Integer>> weights = new HashMap<>();
+    private final ToLongFunction<Position> keys;
+
+    public BookBuilder() {
+        this(PolyglotKey::compute);
+    }
+
+    public BookBuilder(final ToLongFunction<Position> keys) {
+        this.keys = keys;
+    }
+
+    public void add(final Position position, final Move move, final int weight) {
+        weights.computeIfAbsent(keys.applyAsLong(position), key -> new HashMap<>())
+                .merge(OpeningBook.encode(move, position), weight, Integer::sum);
+    }
+
+    public void addLine(final String uciMoves, final int maxPlies) {
+        final Board board = new BitBoard();
+        final Position position = board.getPosition();
+        final String[] moves = uciMoves.trim().split("\\s+");
+        for (int ply = 0; ply < Math.min(moves.length, maxPlies) && !moves[ply].isEmpty(); ply++) {
+            final Move move = Move.fromUci(moves[ply], position.getTurn());
+            if (!position.legalMoves().contains(move)) {
+                throw new IllegalArgumentException("Illegal move " + moves[ply] + " in line: " + uciMoves);
+            }
+            add(position, move, 1);
+            board.makeMove(move, false);
+        }
+    }
+
+    public int write(final Path path) {
+        final List<long[]> entries = new ArrayList<>();
+        weights.forEach((key, moves) -> moves.forEach((move, weight) ->
+                entries.add(new long[]{key, move, Math.min(weight, 0xFFFF)})));
+        entries.sort(Comparator.<long[], Long>comparing(entry -> entry[0], Long::compareUnsigned)
+                .thenComparingLong(entry -> -entry[2]));
+        final ByteBuffer buffer = ByteBuffer.allocate(entries.size() * OpeningBook.ENTRY_BYTES);
+        for (long[] entry : entries) {
+            buffer.putLong(entry[0]).putShort((short) entry[1]).putShort((short) entry[2]).putInt(0);
+        }
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not write book " + path, e);
+        }
+        return entries.size();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.out.println("Usage: BookBuilder <lines.txt> <book.bin> [maxPlies]");
+            return;
+        }
+        final int maxPlies = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        final BookBuilder builder = new BookBuilder();
+        for (String line : Files.readAllLines(Path.of(args[0]))) {
+            if (!line.isBlank() && !line.startsWith("#")) builder.addLine(line, maxPlies);
+        }
+        System.out.println(builder.write(Path.of(args[1])) + " entries written to " + args[1]);
+    }
+}
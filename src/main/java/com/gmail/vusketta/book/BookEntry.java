@@ -0,0 +1,9 @@
+package com.gmail.vusketta.book;
+
+import com.gmail.vusketta.Move;
+
+public record BookEntry(Move move, int weight) {
+    public static BookEntry of(final Move move, final int weight) {
+        return new BookEntry(move, weight);
+    }
+}
@@ -0,0 +1,128 @@
+package com.gmail.vusketta.book;
+
+import com.gmail.vusketta.Coordinate;
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.board.Cell;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ToLongFunction;
+import java.util.random.RandomGenerator;
+
+public class OpeningBook {
+    static final int ENTRY_BYTES = 16;
+    private static final String PROMOTIONS = " nbrq";
+
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final ToLongFunction<Position> keys;
+
+    public OpeningBook(final Path path) {
+        this(path, PolyglotKey::compute);
+    }
+
+    public OpeningBook(final Path path, final ToLongFunction<Position> keys) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long bytes = channel.size();
+            if (bytes % ENTRY_BYTES != 0) throw new IllegalArgumentException("Not a book file: " + path);
+            if (bytes > Integer.MAX_VALUE) throw new IllegalArgumentException("Book is too large: " + path);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes);
+            size = (int) (bytes / ENTRY_BYTES);
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not open book " + path, e);
+        }
+        this.keys = keys;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public List<BookEntry> entries(final Position position) {
+        final long key = keys.applyAsLong(position);
+        final List<Move> legal = position.legalMoves();
+        final List<BookEntry> entries = new ArrayList<>();
+        for (int i = lowerBound(key); i < size && key(i) == key; i++) {
+            final int weight = Short.toUnsignedInt(buffer.getShort(i * ENTRY_BYTES + 10));
+            final Move move = decode(Short.toUnsignedInt(buffer.getShort(i * ENTRY_BYTES + 8)), position);
+            if (weight > 0 && legal.contains(move)) entries.add(BookEntry.of(move, weight));
+        }
+        return entries;
+    }
+
+    public Optional<Move> pick(final Position position, final RandomGenerator random) {
+        final List<BookEntry> entries = entries(position);
+        int total = 0;
+        for (BookEntry entry : entries) total += entry.weight();
+        if (total == 0) return Optional.empty();
+        int target = random.nextInt(total);
+        for (BookEntry entry : entries) {
+            target -= entry.weight();
+            if (target < 0) return Optional.of(entry.move());
+        }
+        throw new AssertionError("Weights do not add up to " + total);
+    }
+
+    static int encode(final Move move, final Position position) {
+        final Coordinate from = move.from();
+        int toX = move.to().x();
+        final Cell piece = position.getCell(from);
+        if ((piece == Cell.WHITE_KING || piece == Cell.BLACK_KING) && Math.abs(toX - from.x()) == 2) {
+            toX = toX > from.x() ? 7 : 0;
+        }
+        final int promotion = move.promotion() == null ? 0 : PROMOTIONS.indexOf(move.promotion().toString().toLowerCase());
+        return toX | move.to().y() << 3 | from.x() << 6 | from.y() << 9 | promotion << 12;
+    }
+
+    static Move decode(final int move, final Position position) {
+        final Coordinate from = Coordinate.of(move >>> 6 & 7, move >>> 9 & 7);
+        int toX = move & 7;
+        final int toY = move >>> 3 & 7;
+        final Cell piece = position.getCell(from);
+        if ((piece == Cell.WHITE_KING || piece == Cell.BLACK_KING) && from.x() == 4 && toY == from.y() &&
+                (toX == 7 || toX == 0)) {
+            toX = toX == 7 ? 6 : 2;
+        }
+        final int promotion = move >>> 12 & 7;
+        final String uci = from.toString() + Coordinate.of(toX, toY) +
+                (promotion == 0 ? "" : String.valueOf(PROMOTIONS.charAt(promotion)));
+        return Move.fromUci(uci, position.getTurn());
+    }
+
+    private long key(final int index) {
+        return buffer.getLong(index * ENTRY_BYTES);
+    }
+
+    private int lowerBound(final long key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            final int middle = low + high >>> 1;
+            if (Long.compareUnsigned(key(middle), key) < 0) low = middle + 1;
+            else high = middle;
+        }
+        return low;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: OpeningBook <book.bin> [fen]");
+            return;
+        }
+        final OpeningBook book = new OpeningBook(Path.of(args[0]));
+        final String fen = args.length > 1 ? String.join(" ", List.of(args).subList(1, args.length)) : BoardUtils.INITIAL_FEN;
+        final List<BookEntry> entries = book.entries(new BitBoard(fen).getPosition());
+        System.out.println(book.size() + " entries, " + entries.size() + " for " + fen);
+        for (BookEntry entry : entries) System.out.println(entry.move().toUci() + " " + entry.weight());
+    }
+}
@@ -0,0 +1,12 @@
+package com.gmail.vusketta.exceptions;
+
+public class EngineIsNotResponding extends RuntimeException {
+
+    public EngineIsNotResponding(String message) {
+        super("Engine is not responding: " + message);
+    }
+
+    public EngineIsNotResponding(String message, Throwable cause) {
+        super("Engine is not responding: " + message, cause);
+    }
+}
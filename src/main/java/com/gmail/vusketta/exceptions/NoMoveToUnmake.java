@@ -0,0 +1,8 @@
+package com.gmail.vusketta.exceptions;
+
+public class NoMoveToUnmake extends RuntimeException {
+
+    public NoMoveToUnmake() {
+        super("There is no move to unmake");
+    }
+}
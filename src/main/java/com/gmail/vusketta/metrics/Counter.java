@@ -0,0 +1,19 @@
+package com.gmail.vusketta.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public class Counter {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(final long value) {
+        count.add(value);
+    }
+
+    public long sum() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,40 @@
+package com.gmail.vusketta.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.gmail.vusketta.Metric")
+@Label("Chess Metric")
+@Category("Chess")
+@Description("Cumulative value of a chess counter or timer")
+@Period("1 s")
+@StackTrace(false)
+public class MetricEvent extends Event {
+    @Label("Name")
+    String name;
+
+    @Label("Count")
+    long count;
+
+    @Label("Total")
+    @Timespan
+    long totalNanos;
+
+    @Label("Median")
+    @Timespan
+    long p50Nanos;
+
+    @Label("99th Percentile")
+    @Timespan
+    long p99Nanos;
+
+    @Label("Max")
+    @Timespan
+    long maxNanos;
+}
@@ -0,0 +1,78 @@
+package com.gmail.vusketta.metrics;
+
+import jdk.jfr.FlightRecorder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class Metrics {
+    public static final boolean HOT_PATH = Boolean.getBoolean("metrics.hotPath");
+
+    private static final Map<String, Counter> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    public static final Counter MOVE_GENERATIONS = counter("board.moveGenerations");
+    public static final Counter ATTACK_QUERIES = counter("board.isUnderAttack");
+    public static final Counter BOARD_COPIES = counter("board.copies");
+    public static final Timer BOARD_MAKE_MOVE = timer("board.makeMove");
+    public static final Timer ENGINE_ROUND_TRIP = timer("engine.bestMove");
+
+    private static final ScheduledExecutorService REPORTER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "metrics-reporter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static volatile boolean isFlightRecorderRegistered;
+
+    public static Counter counter(final String name) {
+        return COUNTERS.computeIfAbsent(name, key -> new Counter());
+    }
+
+    public static Timer timer(final String name) {
+        return TIMERS.computeIfAbsent(name, key -> new Timer());
+    }
+
+    public static MetricsSnapshot snapshot() {
+        final Map<String, Long> counters = new TreeMap<>();
+        COUNTERS.forEach((name, counter) -> counters.put(name, counter.sum()));
+        final Map<String, TimerSnapshot> timers = new TreeMap<>();
+        TIMERS.forEach((name, timer) -> timers.put(name, timer.snapshot()));
+        return MetricsSnapshot.of(System.currentTimeMillis(), counters, timers);
+    }
+
+    public static ScheduledFuture<?> report(final Duration period, final Consumer<MetricsSnapshot> sink) {
+        return REPORTER.scheduleAtFixedRate(() -> sink.accept(snapshot()), period.toMillis(), period.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    public static synchronized void registerFlightRecorderEvent() {
+        if (isFlightRecorderRegistered) return;
+        FlightRecorder.addPeriodicEvent(MetricEvent.class, () -> {
+            final MetricsSnapshot snapshot = snapshot();
+            snapshot.counters().forEach((name, value) -> {
+                final MetricEvent event = new MetricEvent();
+                event.name = name;
+                event.count = value;
+                event.commit();
+            });
+            snapshot.timers().forEach((name, value) -> {
+                final MetricEvent event = new MetricEvent();
+                event.name = name;
+                event.count = value.count();
+                event.totalNanos = value.totalNanos();
+                event.p50Nanos = value.p50Nanos();
+                event.p99Nanos = value.p99Nanos();
+                event.maxNanos = value.maxNanos();
+                event.commit();
+            });
+        });
+        isFlightRecorderRegistered = true;
+    }
+}
@@ -0,0 +1,18 @@
+package com.gmail.vusketta.metrics;
+
+import java.util.Map;
+
+public record MetricsSnapshot(long timestampMillis, Map<String, Long> counters, Map<String, TimerSnapshot> timers) {
+    public static MetricsSnapshot of(final long timestampMillis, final Map<String, Long> counters,
+                                     final Map<String, TimerSnapshot> timers) {
+        return new MetricsSnapshot(timestampMillis, counters, timers);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("metrics at ").append(timestampMillis).append('\n');
+        counters.forEach((name, value) -> builder.append(String.format("  %-28s %d%n", name, value)));
+        timers.forEach((name, value) -> builder.append(String.format("  %-28s %s%n", name, value)));
+        return builder.toString();
+    }
+}
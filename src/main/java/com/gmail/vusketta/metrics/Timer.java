@@ -0,0 +1,47 @@
+package com.gmail.vusketta.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Timer {
+    private static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    public Timer() {
+        for (int i = 0; i < BUCKETS; i++) buckets[i] = new LongAdder();
+    }
+
+    public void record(final long nanos) {
+        final long value = Math.max(nanos, 0);
+        buckets[BUCKETS - 1 - Long.numberOfLeadingZeros(value | 1)].increment();
+        count.increment();
+        total.add(value);
+        max.accumulate(value);
+    }
+
+    public TimerSnapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+            count += counts[i];
+        }
+        final long max = this.max.get();
+        return TimerSnapshot.of(count, total.sum(), max, Math.min(percentile(counts, count, 0.5), max),
+                Math.min(percentile(counts, count, 0.99), max));
+    }
+
+    private static long percentile(final long[] counts, final long count, final double quantile) {
+        final long rank = (long) Math.ceil(count * quantile);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) return i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i + 1) - 1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,18 @@
+package com.gmail.vusketta.metrics;
+
+public record TimerSnapshot(long count, long totalNanos, long maxNanos, long p50Nanos, long p99Nanos) {
+    public static TimerSnapshot of(final long count, final long totalNanos, final long maxNanos, final long p50Nanos,
+                                   final long p99Nanos) {
+        return new TimerSnapshot(count, totalNanos, maxNanos, p50Nanos, p99Nanos);
+    }
+
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count %d mean %.1f us p50 < %.1f us p99 < %.1f us max %.1f us",
+                count, meanNanos() / 1e3, p50Nanos / 1e3, p99Nanos / 1e3, maxNanos / 1e3);
+    }
+}
@@ -0,0 +1,156 @@
+package com.gmail.vusketta.perft;
+
+import com.gmail.vusketta.MoveList;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.board.ChessBoard;
+import com.gmail.vusketta.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+public class ParallelPerft {
+    private static final int SPLIT_PLIES = 2;
+
+    private final ForkJoinPool pool;
+    private final Function<String, Board> boards;
+    private final PerftHash hash;
+
+    public ParallelPerft(final ForkJoinPool pool, final Function<String, Board> boards, final PerftHash hash) {
+        this.pool = pool;
+        this.boards = boards;
+        this.hash = hash;
+    }
+
+    public long perft(final String fen, final int depth) {
+        return pool.invoke(new PerftTask(fen, depth, 0));
+    }
+
+    private long perft(final Board board, final int depth, final MoveList[] moveLists) {
+        final MoveList moves = moveLists[depth - 1];
+        if (depth == 1) {
+            board.getPosition().legalMoves(moves);
+            return moves.size();
+        }
+        final long key = board.getPosition().getZobristKey();
+        if (hash != null) {
+            final long cached = hash.probe(key, depth);
+            if (cached >= 0) return cached;
+        }
+        board.getPosition().legalMoves(moves);
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += perft(board, depth - 1, moveLists);
+            board.unmakeMove();
+        }
+        if (hash != null) hash.store(key, depth, nodes);
+        return nodes;
+    }
+
+    private final class PerftTask extends RecursiveTask<Long> {
+        private final String fen;
+        private final int depth;
+        private final int ply;
+
+        private PerftTask(final String fen, final int depth, final int ply) {
+            this.fen = fen;
+            this.depth = depth;
+            this.ply = ply;
+        }
+
+        @Override
+        protected Long compute() {
+            if (depth == 0) return 1L;
+            final Board board = boards.apply(fen);
+            Metrics.BOARD_COPIES.increment();
+            final MoveList[] moveLists = new MoveList[depth];
+            for (int i = 0; i < depth; i++) moveLists[i] = new MoveList();
+            if (ply >= SPLIT_PLIES || depth <= 2) return perft(board, depth, moveLists);
+            final MoveList moves = moveLists[depth - 1];
+            board.getPosition().legalMoves(moves);
+            final List<PerftTask> tasks = new ArrayList<>(moves.size());
+            for (int i = 0; i < moves.size(); i++) {
+                board.makeMove(moves.get(i));
+                tasks.add(new PerftTask(board.getPosition().getFen(), depth - 1, ply + 1));
+                board.unmakeMove();
+            }
+            long nodes = 0;
+            for (PerftTask task : invokeAll(tasks)) nodes += task.join();
+            return nodes;
+        }
+    }
+
+    public static void main(String[] args) {
+        Function<String, Board> boards = BitBoard::new;
+        int hashMb = 0;
+        int i = 0;
+        while (i + 1 < args.length && args[i].startsWith("--")) {
+            switch (args[i]) {
+                case "--board" -> boards = switch (args[i + 1]) {
+                    case "chess" -> ChessBoard::new;
+                    case "bit" -> BitBoard::new;
+                    default -> throw new IllegalArgumentException("Unknown board " + args[i + 1]);
+                };
+                case "--hash" -> hashMb = Integer.parseInt(args[i + 1]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+            i += 2;
+        }
+        if (args.length <= i) {
+            System.out.println("Usage: ParallelPerft [--board chess|bit] [--hash mb] <depth> [fen]");
+            System.out.println("       ParallelPerft [--board chess|bit] [--hash mb] suite");
+            return;
+        }
+        final int processors = Runtime.getRuntime().availableProcessors();
+        if (args[i].equals("suite")) {
+            if (!suite(boards, hashMb, processors)) System.exit(1);
+            return;
+        }
+        final int depth = Integer.parseInt(args[i]);
+        final String fen = args.length > i + 1 ? String.join(" ", List.of(args).subList(i + 1, args.length))
+                : BoardUtils.INITIAL_FEN;
+        double baseline = 0;
+        long expected = -1;
+        for (int threads = 1; ; threads = Math.min(threads * 2, processors)) {
+            final PerftHash hash = hashMb > 0 ? new PerftHash(hashMb) : null;
+            final long start = System.nanoTime();
+            final long nodes;
+            try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+                nodes = new ParallelPerft(pool, boards, hash).perft(fen, depth);
+            }
+            final double seconds = (System.nanoTime() - start) / 1e9;
+            if (expected != -1 && nodes != expected) throw new AssertionError(threads + " threads counted " + nodes);
+            expected = nodes;
+            if (threads == 1) baseline = seconds;
+            System.out.printf("threads %2d: %d nodes %8.3f s %12.0f nodes/s speedup %.2fx%s%n", threads, nodes, seconds,
+                    nodes / seconds, baseline / seconds,
+                    hash == null ? "" : String.format(" hash hits %.1f%%", 100 * hash.hitRate()));
+            if (threads == processors) break;
+        }
+    }
+
+    private static boolean suite(final Function<String, Board> boards, final int hashMb, final int threads) {
+        boolean isPassed = true;
+        final long start = System.nanoTime();
+        long total = 0;
+        try (ForkJoinPool pool = new ForkJoinPool(threads)) {
+            for (PerftSuite.PerftCase perftCase : PerftSuite.CASES) {
+                final int depth = perftCase.nodes().length;
+                final long expected = perftCase.nodes()[depth - 1];
+                final PerftHash hash = hashMb > 0 ? new PerftHash(hashMb) : null;
+                final long nodes = new ParallelPerft(pool, boards, hash).perft(perftCase.fen(), depth);
+                total += nodes;
+                isPassed &= nodes == expected;
+                System.out.printf("%-10s depth %d: %10d %s%n", perftCase.name(), depth, nodes,
+                        nodes == expected ? "OK" : "FAIL (expected " + expected + ")");
+            }
+        }
+        Perft.report(total, System.nanoTime() - start);
+        return isPassed;
+    }
+}
@@ -0,0 +1,189 @@
+package com.gmail.vusketta.perft;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.MoveList;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.board.Cell;
+import com.gmail.vusketta.board.ChessBoard;
+import com.gmail.vusketta.board.PieceSquareTables;
+import com.gmail.vusketta.board.PositionSnapshot;
+import com.gmail.vusketta.board.Zobrist;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+public class Perft {
+    public static long perft(final Board board, final int depth) {
+        if (depth == 0) return 1;
+        final MoveList[] moveLists = new MoveList[depth];
+        for (int i = 0; i < depth; i++) moveLists[i] = new MoveList();
+        return perft(board, depth, moveLists);
+    }
+
+    private static long perft(final Board board, final int depth, final MoveList[] moveLists) {
+        final MoveList moves = moveLists[depth - 1];
+        board.getPosition().legalMoves(moves);
+        if (depth == 1) return moves.size();
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) {
+            board.makeMove(moves.get(i));
+            nodes += perft(board, depth - 1, moveLists);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    public static Map<Move, Long> divide(final Board board, final int depth) {
+        final Map<Move, Long> nodes = new LinkedHashMap<>();
+        for (Move move : legalMoves(board.getPosition())) {
+            board.makeMove(move, false);
+            nodes.put(move, perft(board, depth - 1));
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    public static long verifyZobrist(final Board board, final int depth) {
+        final Position position = board.getPosition();
+        if (position.getZobristKey() != Zobrist.compute(position)) {
+            throw new AssertionError("Incremental Zobrist key differs from recomputed one at " + position.getFen());
+        }
+        if (position.getPawnKey() != Zobrist.computePawnKey(position)) {
+            throw new AssertionError("Incremental pawn key differs from recomputed one at " + position.getFen());
+        }
+        if (position.getEvaluation() != PieceSquareTables.compute(position)) {
+            throw new AssertionError("Incremental evaluation differs from recomputed one at " + position.getFen());
+        }
+        if (depth == 0) return 1;
+        long nodes = 0;
+        for (Move move : legalMoves(position)) {
+            final long key = position.getZobristKey();
+            board.makeMove(move, false);
+            nodes += verifyZobrist(board, depth - 1);
+            board.unmakeMove();
+            if (position.getZobristKey() != key) {
+                throw new AssertionError("Unmake of " + move.toUci() + " did not restore the key at " + position.getFen());
+            }
+        }
+        return nodes;
+    }
+
+    public static long perft(final PositionSnapshot position, final int depth) {
+        if (depth == 0) return 1;
+        final MoveList moves = new MoveList();
+        position.legalMoves(moves);
+        if (depth == 1) return moves.size();
+        long nodes = 0;
+        for (int i = 0; i < moves.size(); i++) nodes += perft(position.play(moves.get(i)), depth - 1);
+        return nodes;
+    }
+
+    public static long verifySnapshot(final Board board, final PositionSnapshot snapshot, final int depth) {
+        final Position position = board.getPosition();
+        final PositionSnapshot copy = position.snapshot();
+        if (!snapshot.equals(copy) || !snapshot.getFen().equals(position.getFen()) ||
+                snapshot.getPawnKey() != position.getPawnKey() || snapshot.getEvaluation() != position.getEvaluation() ||
+                snapshot.isDrawByRule() != position.isDrawByRule() || copy.isDrawByRule() != position.isDrawByRule()) {
+            throw new AssertionError("Snapshot differs from the board at " + position.getFen());
+        }
+        for (int i = 0; i < 12; i++) {
+            final Cell cell = Cell.values()[i];
+            if (snapshot.getPieces(cell) != position.getPieces(cell)) {
+                throw new AssertionError("Snapshot " + cell + " bitboard differs at " + position.getFen());
+            }
+        }
+        if (depth == 0) return 1;
+        long nodes = 0;
+        for (Move move : legalMoves(position)) {
+            board.makeMove(move, false);
+            nodes += verifySnapshot(board, snapshot.play(move), depth - 1);
+            board.unmakeMove();
+        }
+        return nodes;
+    }
+
+    public static List<Move> legalMoves(final Position position) {
+        return position.legalMoves();
+    }
+
+    public static void main(String[] args) {
+        Function<String, Board> boards = BitBoard::new;
+        int i = 0;
+        if (args.length > 1 && args[0].equals("--board")) {
+            boards = switch (args[1]) {
+                case "chess" -> ChessBoard::new;
+                case "bit" -> BitBoard::new;
+                default -> throw new IllegalArgumentException("Unknown board " + args[1]);
+            };
+            i = 2;
+        }
+        if (args.length <= i) {
+            usage();
+            return;
+        }
+        final String fen = args.length > i + 2 ? joinFen(args, i + 2) : BoardUtils.INITIAL_FEN;
+        switch (args[i]) {
+            case "perft" -> {
+                final int depth = Integer.parseInt(args[i + 1]);
+                final long start = System.nanoTime();
+                final long nodes = perft(boards.apply(fen), depth);
+                report(nodes, System.nanoTime() - start);
+            }
+            case "divide" -> {
+                final int depth = Integer.parseInt(args[i + 1]);
+                final long start = System.nanoTime();
+                long total = 0;
+                for (Map.Entry<Move, Long> entry : divide(boards.apply(fen), depth).entrySet()) {
+                    System.out.println(entry.getKey().toUci() + ": " + entry.getValue());
+                    total += entry.getValue();
+                }
+                System.out.println();
+                report(total, System.nanoTime() - start);
+            }
+            case "suite" -> {
+                final int maxDepth = args.length > i + 1 ? Integer.parseInt(args[i + 1]) : Integer.MAX_VALUE;
+                if (!PerftSuite.run(boards, maxDepth)) System.exit(1);
+            }
+            case "zobrist" -> {
+                final int depth = Integer.parseInt(args[i + 1]);
+                for (PerftSuite.PerftCase perftCase : PerftSuite.CASES) {
+                    final long nodes = verifyZobrist(boards.apply(perftCase.fen()), depth);
+                    System.out.println(perftCase.name() + ": " + nodes + " positions verified");
+                }
+            }
+            case "snapshot" -> {
+                final int depth = Integer.parseInt(args[i + 1]);
+                for (PerftSuite.PerftCase perftCase : PerftSuite.CASES) {
+                    final Board board = boards.apply(perftCase.fen());
+                    final long nodes = verifySnapshot(board, board.getPosition().snapshot(), depth);
+                    final long start = System.nanoTime();
+                    final long perft = perft(PositionSnapshot.of(perftCase.fen()), depth);
+                    System.out.printf("%s: %d positions verified, snapshot perft %d in %.3f s%n",
+                            perftCase.name(), nodes, perft, (System.nanoTime() - start) / 1e9);
+                }
+            }
+            default -> usage();
+        }
+    }
+
+    static void report(final long nodes, final long nanos) {
+        System.out.printf("Nodes: %d, time: %.3f s, %.0f nodes/s%n", nodes, nanos / 1e9, nodes / (nanos / 1e9));
+    }
+
+    private static String joinFen(final String[] args, final int from) {
+        return String.join(" ", List.of(args).subList(from, args.length));
+    }
+
+    private static void usage() {
+        System.out.println("Usage: Perft [--board chess|bit] perft <depth> [fen]");
+        System.out.println("       Perft [--board chess|bit] divide <depth> [fen]");
+        System.out.println("       Perft [--board chess|bit] suite [maxDepth]");
+        System.out.println("       Perft [--board chess|bit] zobrist <depth>");
+        System.out.println("       Perft [--board chess|bit] snapshot <depth>");
+    }
+}
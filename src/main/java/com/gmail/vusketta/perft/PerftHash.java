@@ -0,0 +1,60 @@
+package com.gmail.vusketta.perft;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class PerftHash {
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] table;
+    private final int mask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public PerftHash(final int megabytes) {
+        if (megabytes <= 0) throw new IllegalArgumentException("Table size must be positive: " + megabytes);
+        final long entries = Long.highestOneBit(((long) megabytes << 20) / ENTRY_BYTES);
+        if (entries * 2 > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Table is too large: " + megabytes + " MB");
+        table = new long[(int) (entries * 2)];
+        mask = (int) entries - 1;
+    }
+
+    public long probe(final long key, final int depth) {
+        probes.increment();
+        final int index = index(key);
+        final long data = table[index + 1];
+        if ((table[index] ^ data) != key || (data & 0xFF) != depth) return -1;
+        hits.increment();
+        return data >>> 8;
+    }
+
+    public void store(final long key, final int depth, final long nodes) {
+        final int index = index(key);
+        final long data = nodes << 8 | depth;
+        table[index] = key ^ data;
+        table[index + 1] = data;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        probes.reset();
+        hits.reset();
+    }
+
+    public long probes() {
+        return probes.sum();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public double hitRate() {
+        final long probes = probes();
+        return probes == 0 ? 0 : (double) hits() / probes;
+    }
+
+    private int index(final long key) {
+        return ((int) (key ^ key >>> 32) & mask) << 1;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gmail.vusketta.perft;
+
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+
+import java.util.List;
+import java.util.function.Function;
+
+public class PerftSuite {
+    public record PerftCase(String name, String fen, long... nodes) {
+    }
+
+    public static final List<PerftCase> CASES = List.of(
+            new PerftCase("initial", BoardUtils.INITIAL_FEN,
+                    20, 400, 8902, 197281, 4865609),
+            new PerftCase("kiwipete", "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                    48, 2039, 97862, 4085603),
+            new PerftCase("position3", "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                    14, 191, 2812, 43238, 674624),
+            new PerftCase("position4", "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                    6, 264, 9467, 422333),
+            new PerftCase("position5", "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8",
+                    44, 1486, 62379, 2103487),
+            new PerftCase("position6", "r4rk1/1pp1qppp/p1np1n2/2b1p1B1/2B1P1b1/P1NP1N2/1PP1QPPP/R4RK1 w - - 0 10",
+                    46, 2079, 89890, 3894594)
+    );
+
+    public static boolean run(final Function<String, Board> boards, final int maxDepth) {
+        boolean isPassed = true;
+        long totalNodes = 0;
+        final long totalStart = System.nanoTime();
+        for (PerftCase perftCase : CASES) {
+            for (int depth = 1; depth <= Math.min(maxDepth, perftCase.nodes().length); depth++) {
+                final long expected = perftCase.nodes()[depth - 1];
+                final long start = System.nanoTime();
+                final long nodes = Perft.perft(boards.apply(perftCase.fen()), depth);
+                final double seconds = (System.nanoTime() - start) / 1e9;
+                totalNodes += nodes;
+                final boolean isCorrect = nodes == expected;
+                isPassed &= isCorrect;
+                System.out.printf("%-10s depth %d: %10d %s %8.3f s %12.0f nodes/s%n", perftCase.name(), depth, nodes,
+                        isCorrect ? "OK  " : "FAIL (expected " + expected + ")", seconds, nodes / seconds);
+            }
+        }
+        System.out.println();
+        Perft.report(totalNodes, System.nanoTime() - totalStart);
+        return isPassed;
+    }
+}
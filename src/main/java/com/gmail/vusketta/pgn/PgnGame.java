@@ -0,0 +1,40 @@
+package com.gmail.vusketta.pgn;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public record PgnGame(Map<String, String> tags, List<String> moves, String result) {
+    public static PgnGame of(final Map<String, String> tags, final List<String> moves, final String result) {
+        return new PgnGame(tags, moves, result);
+    }
+
+    public String tag(final String name) {
+        return tags.get(name);
+    }
+
+    public String startFen() {
+        return tags.getOrDefault("FEN", BoardUtils.INITIAL_FEN);
+    }
+
+    public Board replay() {
+        final Board board = new BitBoard(startFen());
+        replay(board);
+        return board;
+    }
+
+    public List<Move> replay(final Board board) {
+        final List<Move> played = new ArrayList<>(moves.size());
+        for (String san : moves) {
+            final Move move = San.fromSan(board.getPosition(), san);
+            board.makeMove(move, false);
+            played.add(move);
+        }
+        return played;
+    }
+}
@@ -0,0 +1,155 @@
+package com.gmail.vusketta.pgn;
+
+import com.gmail.vusketta.board.BitBoard;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class PgnReader implements AutoCloseable {
+    private static final Set<String> RESULTS = Set.of("1-0", "0-1", "1/2-1/2", "*");
+
+    private final BufferedReader reader;
+    private String pending;
+    private int commentDepth;
+    private int variationDepth;
+
+    public PgnReader(final Path path) {
+        this(newReader(path));
+    }
+
+    public PgnReader(final Reader reader) {
+        this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader, 1 << 16);
+    }
+
+    public PgnGame next() {
+        final Map<String, String> tags = new LinkedHashMap<>();
+        final List<String> moves = new ArrayList<>();
+        commentDepth = variationDepth = 0;
+        String line;
+        while ((line = readLine()) != null) {
+            if (commentDepth == 0 && line.startsWith("[")) {
+                if (!moves.isEmpty()) {
+                    pending = line;
+                    return PgnGame.of(tags, moves, "*");
+                }
+                parseTag(line, tags);
+                continue;
+            }
+            if (commentDepth == 0 && line.startsWith("%")) continue;
+            final String result = parseMoves(line, moves);
+            if (result != null) return PgnGame.of(tags, moves, result);
+        }
+        return tags.isEmpty() && moves.isEmpty() ? null : PgnGame.of(tags, moves, "*");
+    }
+
+    @Override
+    public void close() {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not close PGN", e);
+        }
+    }
+
+    private String readLine() {
+        if (pending != null) {
+            final String line = pending;
+            pending = null;
+            return line;
+        }
+        try {
+            final String line = reader.readLine();
+            return line == null ? null : line.strip();
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not read PGN", e);
+        }
+    }
+
+    private static void parseTag(final String line, final Map<String, String> tags) {
+        final int space = line.indexOf(' ');
+        final int open = line.indexOf('"');
+        final int close = line.lastIndexOf('"');
+        if (space < 0 || open < 0 || close <= open) throw new IllegalArgumentException("Malformed tag: " + line);
+        tags.put(line.substring(1, space), line.substring(open + 1, close).replace("\\\"", "\"").replace("\\\\", "\\"));
+    }
+
+    private String parseMoves(final String line, final List<String> moves) {
+        int i = 0;
+        while (i < line.length()) {
+            final char c = line.charAt(i);
+            if (commentDepth > 0) {
+                if (c == '}') commentDepth = 0;
+                i++;
+            } else if (c == '{') {
+                commentDepth = 1;
+                i++;
+            } else if (c == ';') {
+                return null;
+            } else if (c == '(') {
+                variationDepth++;
+                i++;
+            } else if (c == ')') {
+                variationDepth--;
+                i++;
+            } else if (Character.isWhitespace(c)) {
+                i++;
+            } else {
+                int end = i;
+                while (end < line.length() && "{}();".indexOf(line.charAt(end)) < 0 &&
+                        !Character.isWhitespace(line.charAt(end))) end++;
+                final String token = line.substring(i, end);
+                i = end;
+                if (variationDepth > 0) continue;
+                if (RESULTS.contains(token)) return token;
+                final String move = stripMoveNumber(token);
+                if (!move.isEmpty() && move.charAt(0) != '$') moves.add(move);
+            }
+        }
+        return null;
+    }
+
+    private static String stripMoveNumber(final String token) {
+        int start = 0;
+        while (start < token.length() && Character.isDigit(token.charAt(start))) start++;
+        if (start == 0) return token;
+        while (start < token.length() && token.charAt(start) == '.') start++;
+        return token.substring(start);
+    }
+
+    private static BufferedReader newReader(final Path path) {
+        try {
+            return Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not open " + path, e);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: PgnReader <games.pgn>");
+            return;
+        }
+        final long start = System.nanoTime();
+        long games = 0;
+        long plies = 0;
+        try (PgnReader reader = new PgnReader(Path.of(args[0]))) {
+            PgnGame game;
+            while ((game = reader.next()) != null) {
+                plies += game.replay(new BitBoard(game.startFen())).size();
+                games++;
+            }
+        }
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games, %d plies replayed in %.3f s (%.0f games/s)%n", games, plies, seconds, games / seconds);
+    }
+}
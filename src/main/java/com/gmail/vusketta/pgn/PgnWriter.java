@@ -0,0 +1,118 @@
+package com.gmail.vusketta.pgn;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Turn;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.board.Fen;
+import com.gmail.vusketta.metrics.Metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class PgnWriter implements AutoCloseable {
+    private static final int LINE_LENGTH = 79;
+    private static final List<String> ROSTER = List.of("Event", "Site", "Date", "Round", "White", "Black", "Result");
+
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder(LINE_LENGTH + 16);
+    private long games;
+
+    public PgnWriter(final Path path) {
+        this(newWriter(path));
+    }
+
+    public PgnWriter(final Writer writer) {
+        this.writer = writer instanceof BufferedWriter buffered ? buffered : new BufferedWriter(writer, 1 << 16);
+    }
+
+    public synchronized void write(final Map<String, String> tags, final String fen, final List<Move> moves,
+                                   final String result) {
+        final Map<String, String> header = new LinkedHashMap<>();
+        for (String name : ROSTER) header.put(name, tags.getOrDefault(name, "?"));
+        header.put("Result", result);
+        if (!fen.equals(BoardUtils.INITIAL_FEN)) {
+            header.put("SetUp", "1");
+            header.put("FEN", fen);
+        }
+        tags.forEach(header::putIfAbsent);
+        try {
+            for (Map.Entry<String, String> tag : header.entrySet()) {
+                writer.write('[' + tag.getKey() + " \"" + escape(tag.getValue()) + "\"]\n");
+            }
+            writer.write('\n');
+            final Board board = new BitBoard(fen);
+            Metrics.BOARD_COPIES.increment();
+            final Fen start = Fen.parse(fen);
+            int number = start.fullmoveNumber();
+            boolean white = start.turn() == Turn.WHITE;
+            line.setLength(0);
+            if (!white && !moves.isEmpty()) append(number + "...");
+            for (Move move : moves) {
+                if (white) append(number + ".");
+                append(San.toSan(board, move));
+                board.makeMove(move, false);
+                if (!white) number++;
+                white = !white;
+            }
+            append(result);
+            writer.write(line.toString());
+            writer.write("\n\n");
+            games++;
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not write PGN", e);
+        }
+    }
+
+    public synchronized long games() {
+        return games;
+    }
+
+    public synchronized void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not flush PGN", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not close PGN", e);
+        }
+    }
+
+    private void append(final String token) throws IOException {
+        if (!line.isEmpty() && line.length() + 1 + token.length() > LINE_LENGTH) {
+            writer.write(line.toString());
+            writer.write('\n');
+            line.setLength(0);
+        }
+        if (!line.isEmpty()) line.append(' ');
+        line.append(token);
+    }
+
+    private static String escape(final String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    private static Writer newWriter(final Path path) {
+        try {
+            return Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not open " + path, e);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.gmail.vusketta.pgn;
+
+import com.gmail.vusketta.Coordinate;
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.Turn;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.board.Cell;
+
+import java.util.List;
+
+public class San {
+    private static final String PIECES = "PRNBQK";
+
+    public static String toSan(final Board board, final Move move) {
+        final Position position = board.getPosition();
+        final String san = withoutCheck(position, move, position.legalMoves());
+        board.makeMove(move, false);
+        final String suffix = !position.isInCheck() ? "" : position.legalMoves().isEmpty() ? "#" : "+";
+        board.unmakeMove();
+        return san + suffix;
+    }
+
+    public static Move fromSan(final Position position, final String san) {
+        final List<Move> legal = position.legalMoves();
+        String text = san;
+        while (!text.isEmpty() && "+#!?".indexOf(text.charAt(text.length() - 1)) >= 0) {
+            text = text.substring(0, text.length() - 1);
+        }
+        final int rank = position.getTurn() == Turn.WHITE ? 0 : 7;
+        if (text.equals("O-O") || text.equals("0-0")) {
+            return find(legal, Move.of(Coordinate.of(4, rank), Coordinate.of(6, rank)), san);
+        }
+        if (text.equals("O-O-O") || text.equals("0-0-0")) {
+            return find(legal, Move.of(Coordinate.of(4, rank), Coordinate.of(2, rank)), san);
+        }
+        Cell promotion = null;
+        final int equals = text.indexOf('=');
+        if (equals >= 0 || !text.isEmpty() && "QRBN".indexOf(text.charAt(text.length() - 1)) >= 0) {
+            final char letter = text.charAt(text.length() - 1);
+            promotion = Cell.of(position.getTurn() == Turn.WHITE ? letter : Character.toLowerCase(letter));
+            text = text.substring(0, equals >= 0 ? equals : text.length() - 1);
+        }
+        if (text.length() < 2) throw new IllegalArgumentException("Malformed SAN: " + san);
+        final int letter = PIECES.indexOf(text.charAt(0));
+        final int type = Math.max(letter, 0);
+        final Coordinate to = BoardUtils.parseCoordinate(text.substring(text.length() - 2));
+        final String hint = text.substring(letter < 0 ? 0 : 1, text.length() - 2).replace("x", "");
+        Move found = null;
+        for (Move move : legal) {
+            if (!move.to().equals(to) || position.getCell(move.from()).ordinal() >> 1 != type) continue;
+            if (move.promotion() != promotion) continue;
+            if (!matches(move.from(), hint)) continue;
+            if (found != null) throw new IllegalArgumentException("Ambiguous SAN " + san + " at " + position.getFen());
+            found = move;
+        }
+        if (found == null) throw new IllegalArgumentException("Illegal SAN " + san + " at " + position.getFen());
+        return found;
+    }
+
+    private static String withoutCheck(final Position position, final Move move, final List<Move> legal) {
+        final Cell piece = position.getCell(move.from());
+        final int type = piece.ordinal() >> 1;
+        final int dx = move.to().x() - move.from().x();
+        if (type == 5 && Math.abs(dx) == 2) return dx > 0 ? "O-O" : "O-O-O";
+        final boolean capture = !position.getCell(move.to()).isEmpty() || type == 0 && dx != 0;
+        final StringBuilder san = new StringBuilder();
+        if (type == 0) {
+            if (capture) san.append(move.from().toString().charAt(0));
+        } else {
+            san.append(PIECES.charAt(type));
+            boolean ambiguous = false;
+            boolean sameFile = false;
+            boolean sameRank = false;
+            for (Move other : legal) {
+                if (other.from().equals(move.from()) || !other.to().equals(move.to()) ||
+                        position.getCell(other.from()) != piece) continue;
+                ambiguous = true;
+                sameFile |= other.from().x() == move.from().x();
+                sameRank |= other.from().y() == move.from().y();
+            }
+            if (ambiguous) {
+                if (!sameFile) san.append(move.from().toString().charAt(0));
+                else if (!sameRank) san.append(move.from().toString().charAt(1));
+                else san.append(move.from());
+            }
+        }
+        if (capture) san.append('x');
+        san.append(move.to());
+        if (move.promotion() != null) san.append('=').append(PIECES.charAt(move.promotion().ordinal() >> 1));
+        return san.toString();
+    }
+
+    private static boolean matches(final Coordinate from, final String hint) {
+        final String square = from.toString();
+        for (int i = 0; i < hint.length(); i++) {
+            final char c = hint.charAt(i);
+            if (c != square.charAt(Character.isDigit(c) ? 1 : 0)) return false;
+        }
+        return true;
+    }
+
+    private static Move find(final List<Move> legal, final Move move, final String san) {
+        if (!legal.contains(move)) throw new IllegalArgumentException("Illegal SAN " + san);
+        return move;
+    }
+}
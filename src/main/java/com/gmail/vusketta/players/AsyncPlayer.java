@@ -0,0 +1,24 @@
+package com.gmail.vusketta.players;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+public interface AsyncPlayer {
+    CompletableFuture<Move> requestMove(Position position);
+
+    default String name() {
+        return getClass().getSimpleName();
+    }
+
+    static AsyncPlayer of(final Player player) {
+        return of(player, Thread::startVirtualThread);
+    }
+
+    static AsyncPlayer of(final Player player, final Executor executor) {
+        if (player instanceof AsyncPlayer async) return async;
+        return new BlockingPlayerAdapter(player, executor);
+    }
+}
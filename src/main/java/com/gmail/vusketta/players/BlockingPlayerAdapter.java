@@ -0,0 +1,19 @@
+package com.gmail.vusketta.players;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+record BlockingPlayerAdapter(Player player, Executor executor) implements AsyncPlayer {
+    @Override
+    public CompletableFuture<Move> requestMove(final Position position) {
+        return CompletableFuture.supplyAsync(() -> player.makeMove(position), executor);
+    }
+
+    @Override
+    public String name() {
+        return player.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,52 @@
+package com.gmail.vusketta.players;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.Turn;
+import com.gmail.vusketta.board.Fen;
+import com.gmail.vusketta.book.OpeningBook;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+public class BookPlayer implements Player, AutoCloseable {
+    private final OpeningBook book;
+    private final Player fallback;
+    private final int maxPlies;
+    private final RandomGenerator random;
+
+    public BookPlayer(final OpeningBook book, final Player fallback) {
+        this(book, fallback, 16, new SplittableRandom());
+    }
+
+    public BookPlayer(final OpeningBook book, final Player fallback, final int maxPlies, final RandomGenerator random) {
+        this.book = book;
+        this.fallback = fallback;
+        this.maxPlies = maxPlies;
+        this.random = random;
+    }
+
+    @Override
+    public Move makeMove(Position position) {
+        final Fen fen = Fen.parse(position.getFen());
+        final int ply = 2 * (fen.fullmoveNumber() - 1) + (fen.turn() == Turn.WHITE ? 0 : 1);
+        if (ply < maxPlies) {
+            final Optional<Move> move = book.pick(position, random);
+            if (move.isPresent()) return move.get();
+        }
+        return fallback.makeMove(position);
+    }
+
+    @Override
+    public void close() {
+        if (!(fallback instanceof AutoCloseable closeable)) return;
+        try {
+            closeable.close();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to close the fallback player", e);
+        }
+    }
+}
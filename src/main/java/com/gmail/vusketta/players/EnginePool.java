@@ -0,0 +1,105 @@
+package com.gmail.vusketta.players;
+
+import com.gmail.vusketta.exceptions.EngineIsNotResponding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EnginePool implements AutoCloseable {
+    private final List<Stockfish> engines = new ArrayList<>();
+    private final BlockingQueue<Stockfish> idle;
+    private final AtomicInteger restarts = new AtomicInteger();
+    private volatile boolean closed;
+
+    public EnginePool() {
+        this(Stockfish.defaultPath(), Runtime.getRuntime().availableProcessors());
+    }
+
+    public EnginePool(final String path, final int size) {
+        this(path, size, 30_000);
+    }
+
+    public EnginePool(final String path, final int size, final long responseTimeout) {
+        if (size <= 0) throw new IllegalArgumentException("Pool size must be positive: " + size);
+        idle = new ArrayBlockingQueue<>(size);
+        for (int i = 0; i < size; i++) {
+            final Stockfish engine = new Stockfish(path, responseTimeout);
+            engines.add(engine);
+            idle.add(engine);
+        }
+    }
+
+    public Lease lease() {
+        if (closed) throw new IllegalStateException("Engine pool is closed");
+        final Stockfish engine;
+        try {
+            engine = idle.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EngineIsNotResponding("interrupted while waiting for a free engine", e);
+        }
+        try {
+            reset(engine);
+        } catch (RuntimeException e) {
+            idle.add(engine);
+            throw e;
+        }
+        return new Lease(engine);
+    }
+
+    public int size() {
+        return engines.size();
+    }
+
+    public int available() {
+        return idle.size();
+    }
+
+    public int restarts() {
+        return restarts.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (Stockfish engine : engines) engine.stopEngine();
+    }
+
+    private void reset(final Stockfish engine) {
+        try {
+            if (engine.isStarted() && !engine.isAlive()) throw new EngineIsNotResponding("process exited");
+            engine.startEngine();
+            engine.sendCommand("stop");
+            engine.newGame();
+        } catch (EngineIsNotResponding e) {
+            restarts.incrementAndGet();
+            engine.restart();
+            engine.newGame();
+        }
+    }
+
+    public class Lease implements AutoCloseable {
+        private final Stockfish engine;
+        private boolean released;
+
+        private Lease(final Stockfish engine) {
+            this.engine = engine;
+        }
+
+        public Stockfish engine() {
+            if (released) throw new IllegalStateException("Engine lease is already released");
+            return engine;
+        }
+
+        @Override
+        public void close() {
+            if (released) return;
+            released = true;
+            if (closed) engine.stopEngine();
+            idle.add(engine);
+        }
+    }
+}
@@ -6,8 +6,9 @@ import com.gmail.vusketta.Position;
 
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 
-public class RandomPlayer implements Player {
+public class RandomPlayer implements Player, AsyncPlayer {
     private final Random random;
 
     public RandomPlayer() {
@@ -24,4 +25,9 @@ public class RandomPlayer implements Player {
         } while (moves.isEmpty());
         return moves.get(random.nextInt(moves.size()));
     }
+
+    @Override
+    public CompletableFuture<Move> requestMove(Position position) {
+        return CompletableFuture.completedFuture(makeMove(position));
+    }
 }
@@ -0,0 +1,30 @@
+package com.gmail.vusketta.players;
+
+public record SearchLimits(int moveTime, int depth, long nodes) {
+
+    public SearchLimits {
+        if (moveTime <= 0 && depth <= 0 && nodes <= 0) {
+            throw new IllegalArgumentException("At least one search limit must be set");
+        }
+    }
+
+    public static SearchLimits moveTime(int milliseconds) {
+        return new SearchLimits(milliseconds, 0, 0);
+    }
+
+    public static SearchLimits depth(int depth) {
+        return new SearchLimits(0, depth, 0);
+    }
+
+    public static SearchLimits nodes(long nodes) {
+        return new SearchLimits(0, 0, nodes);
+    }
+
+    public String toGoCommand() {
+        final StringBuilder command = new StringBuilder("go");
+        if (moveTime > 0) command.append(" movetime ").append(moveTime);
+        if (depth > 0) command.append(" depth ").append(depth);
+        if (nodes > 0) command.append(" nodes ").append(nodes);
+        return command.toString();
+    }
+}
@@ -0,0 +1,45 @@
+package com.gmail.vusketta.players;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.search.SearchResult;
+import com.gmail.vusketta.search.SmpSearch;
+import com.gmail.vusketta.search.TranspositionTable;
+
+public class SearchPlayer implements Player, AutoCloseable {
+    private final SearchLimits limits;
+    private final SmpSearch search;
+    private SearchResult lastResult;
+
+    public SearchPlayer() {
+        this(SearchLimits.moveTime(100));
+    }
+
+    public SearchPlayer(final SearchLimits limits) {
+        this(limits, 1);
+    }
+
+    public SearchPlayer(final SearchLimits limits, final int threads) {
+        this(limits, new TranspositionTable(16), threads);
+    }
+
+    public SearchPlayer(final SearchLimits limits, final TranspositionTable table, final int threads) {
+        this.limits = limits;
+        this.search = new SmpSearch(table, threads);
+    }
+
+    @Override
+    public Move makeMove(Position position) {
+        lastResult = search.search(position, limits);
+        return lastResult.move();
+    }
+
+    public SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    @Override
+    public void close() {
+        search.close();
+    }
+}
@@ -1,74 +1,272 @@
 package com.gmail.vusketta.players;
 
+import com.gmail.vusketta.exceptions.EngineIsNotResponding;
+import com.gmail.vusketta.metrics.Metrics;
+
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public class Stockfish {
-    private BufferedReader processReader;
-    private OutputStreamWriter processWriter;
-
     private static final String PATH = ".\\src\\main\\engine\\stockfish-windows-2022-x86-64-avx2.exe";
+    private static final long HANDSHAKE_TIMEOUT = 10_000;
+
+    private final String path;
+    private final long responseTimeout;
+    private final Object writeLock = new Object();
+    private final Object responseLock = new Object();
+    private volatile Process engineProcess;
+    private volatile boolean broken;
+    private Writer processWriter;
+    private CompletableFuture<String> pending;
+    private String pendingPrefix;
+    private volatile String lastInfo = "";
+
+    public Stockfish() {
+        this(defaultPath());
+    }
+
+    public Stockfish(String path) {
+        this(path, 30_000);
+    }
+
+    public Stockfish(String path, long responseTimeout) {
+        this.path = path;
+        this.responseTimeout = responseTimeout;
+    }
 
-    public void startEngine() {
+    public static String defaultPath() {
+        final String path = System.getProperty("stockfish.path", System.getenv("STOCKFISH_PATH"));
+        return path == null ? PATH : path;
+    }
+
+    public synchronized void startEngine() {
+        if (isAlive()) return;
+        if (engineProcess != null) engineProcess.destroyForcibly();
+        final Process process;
         try {
-            Process engineProcess = new ProcessBuilder(PATH).start();
-            processReader = new BufferedReader(new InputStreamReader(
-                    engineProcess.getInputStream()));
-            processWriter = new OutputStreamWriter(
-                    engineProcess.getOutputStream());
-        } catch (Exception e) {
-            System.err.println(e.getMessage());
+            process = new ProcessBuilder(path).start();
+        } catch (IOException e) {
+            throw new EngineIsNotResponding("can not start " + path, e);
         }
+        engineProcess = process;
+        broken = false;
+        processWriter = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        final BufferedReader processReader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        final Thread reader = new Thread(() -> readOutput(process, processReader), "uci-reader-" + process.pid());
+        reader.setDaemon(true);
+        reader.start();
+
+        await(request("uci", "uciok"), HANDSHAKE_TIMEOUT);
+        isReady();
+    }
+
+    public boolean isStarted() {
+        return engineProcess != null;
+    }
+
+    public boolean isAlive() {
+        final Process process = engineProcess;
+        return process != null && !broken && process.isAlive();
+    }
+
+    public void isReady() {
+        await(request("isready", "readyok"), HANDSHAKE_TIMEOUT);
+    }
+
+    public void restart() {
+        stopEngine();
+        startEngine();
+    }
+
+    public void newGame() {
+        sendCommand("ucinewgame");
+        isReady();
     }
 
     public void sendCommand(String command) {
-        try {
-            processWriter.write(command + "\n");
-            processWriter.flush();
-        } catch (IOException e) {
-            e.printStackTrace();
+        synchronized (writeLock) {
+            try {
+                processWriter.write(command + "\n");
+                processWriter.flush();
+            } catch (IOException e) {
+                throw new EngineIsNotResponding("can not send " + command, e);
+            }
         }
     }
 
-    public String getOutput(int waitTime) {
-        StringBuilder stringBuilder = new StringBuilder();
+    public CompletableFuture<String> requestBestMove(String fen, SearchLimits limits) {
+        sendCommand("position fen " + fen);
+        return request(limits.toGoCommand(), "bestmove").thenApply(line -> parseBestMove(fen, line));
+    }
+
+    public CompletableFuture<String> bestMoveAsync(String fen, SearchLimits limits) {
+        final long start = System.nanoTime();
+        final long timeout = responseTimeout + limits.moveTime();
+        final CompletableFuture<String> response;
         try {
-            Thread.sleep(waitTime);
-            sendCommand("isready");
-            while (true) {
-                String text = processReader.readLine();
-                if (text.equals("readyok"))
-                    break;
-                else
-                    stringBuilder.append(text).append("\n");
+            sendCommand("position fen " + fen);
+            response = request(limits.toGoCommand(), "bestmove");
+        } catch (EngineIsNotResponding e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return response.orTimeout(timeout, TimeUnit.MILLISECONDS).exceptionallyCompose(failure -> {
+            final Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+            if (!(cause instanceof TimeoutException)) {
+                return CompletableFuture.failedFuture(cause instanceof EngineIsNotResponding
+                        ? cause : new EngineIsNotResponding(cause.getMessage(), cause));
             }
-        } catch (Exception e) {
-            e.printStackTrace();
+            dropPending(response);
+            final EngineIsNotResponding timedOut = new EngineIsNotResponding("no answer in " + timeout + " ms", cause);
+            return resynchronize().handle((ready, error) -> {
+                throw timedOut;
+            });
+        }).thenApply(line -> parseBestMove(fen, line)).whenComplete((move, failure) ->
+                Metrics.ENGINE_ROUND_TRIP.record(System.nanoTime() - start));
+    }
+
+    public String getBestMove(String fen, SearchLimits limits) {
+        final long start = System.nanoTime();
+        try {
+            return await(requestBestMove(fen, limits), responseTimeout + limits.moveTime());
+        } finally {
+            Metrics.ENGINE_ROUND_TRIP.record(System.nanoTime() - start);
         }
-        return stringBuilder.toString();
     }
 
     public String getBestMove(String fen) {
-        sendCommand("position fen " + fen);
-        sendCommand("go movetime 1");
-        int waitTime = 0;
-        String[] output;
-        do {
-            waitTime += 100;
-            output = getOutput(waitTime).split("bestmove ");
-        } while (output.length == 1);
-        System.out.println(waitTime);
-        return output[1].split(" ")[0];
-    }
-
-    public void stopEngine() {
+        return getBestMove(fen, SearchLimits.moveTime(100));
+    }
+
+    public String getLastInfo() {
+        return lastInfo;
+    }
+
+    public synchronized void stopEngine() {
+        if (engineProcess == null) return;
         try {
             sendCommand("quit");
-            processReader.close();
             processWriter.close();
-        } catch (IOException ignored) {
+            if (!engineProcess.waitFor(1, TimeUnit.SECONDS)) engineProcess.destroy();
+        } catch (EngineIsNotResponding | IOException ignored) {
+            engineProcess.destroy();
+        } catch (InterruptedException e) {
+            engineProcess.destroy();
+            Thread.currentThread().interrupt();
+        }
+        failPending(new EngineIsNotResponding("engine stopped"));
+        engineProcess = null;
+    }
+
+    private static String parseBestMove(String fen, String line) {
+        final String[] parts = line.split(" ");
+        if (parts.length < 2 || parts[1].equals("(none)")) {
+            throw new IllegalStateException("Engine has no move for " + fen + ": " + line);
+        }
+        return parts[1];
+    }
+
+    private CompletableFuture<String> request(String command, String responsePrefix) {
+        final CompletableFuture<String> response = new CompletableFuture<>();
+        synchronized (responseLock) {
+            if (pending != null) throw new IllegalStateException("Engine is busy waiting for " + pendingPrefix);
+            pending = response;
+            pendingPrefix = responsePrefix;
+        }
+        try {
+            sendCommand(command);
+        } catch (EngineIsNotResponding e) {
+            failPending(e);
+        }
+        return response;
+    }
+
+    private CompletableFuture<String> resynchronize() {
+        final CompletableFuture<String> ready;
+        try {
+            sendCommand("stop");
+            ready = request("isready", "readyok");
+        } catch (RuntimeException e) {
+            broken = true;
+            return CompletableFuture.failedFuture(e);
+        }
+        return ready.orTimeout(HANDSHAKE_TIMEOUT, TimeUnit.MILLISECONDS).whenComplete((line, failure) -> {
+            if (failure == null) return;
+            dropPending(ready);
+            broken = true;
+        });
+    }
+
+    private void readOutput(Process process, BufferedReader processReader) {
+        try {
+            String line;
+            while ((line = processReader.readLine()) != null) {
+                if (line.startsWith("info")) lastInfo = line;
+                complete(line);
+            }
+            closed(process, new EngineIsNotResponding("engine closed its output"));
+        } catch (IOException e) {
+            closed(process, new EngineIsNotResponding("can not read engine output", e));
+        }
+    }
+
+    private void closed(Process process, EngineIsNotResponding cause) {
+        if (process != engineProcess) return;
+        broken = true;
+        failPending(cause);
+    }
+
+    private void complete(String line) {
+        final CompletableFuture<String> response;
+        synchronized (responseLock) {
+            if (pending == null || !line.startsWith(pendingPrefix)) return;
+            response = pending;
+            pending = null;
+        }
+        response.complete(line);
+    }
+
+    private void failPending(EngineIsNotResponding cause) {
+        final CompletableFuture<String> response;
+        synchronized (responseLock) {
+            if (pending == null) return;
+            response = pending;
+            pending = null;
+        }
+        response.completeExceptionally(cause);
+    }
+
+    private void dropPending(CompletableFuture<String> response) {
+        synchronized (responseLock) {
+            if (pending == response) pending = null;
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> response, long timeout) {
+        try {
+            return response.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause
+                    ? cause : new EngineIsNotResponding(e.getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            failPending(new EngineIsNotResponding("no answer in " + timeout + " ms"));
+            try {
+                resynchronize().join();
+            } catch (CompletionException ignored) {
+            }
+            throw new EngineIsNotResponding("no answer in " + timeout + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new EngineIsNotResponding("interrupted", e);
         }
     }
-}
\ No newline at end of file
+}
@@ -1,33 +1,81 @@
 package com.gmail.vusketta.players;
 
 import com.gmail.vusketta.*;
-import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.exceptions.EngineIsNotResponding;
 
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
-public class StockfishPlayer implements Player {
+public class StockfishPlayer implements Player, AsyncPlayer, AutoCloseable {
+    private final EnginePool pool;
     private final Stockfish engine;
+    private final SearchLimits limits;
 
     public StockfishPlayer() {
-        this.engine = new Stockfish();
+        this(new Stockfish(), SearchLimits.moveTime(100));
+    }
+
+    public StockfishPlayer(final Stockfish engine, final SearchLimits limits) {
+        this.pool = null;
+        this.engine = engine;
+        this.limits = limits;
+    }
+
+    public StockfishPlayer(final EnginePool pool, final SearchLimits limits) {
+        this.pool = pool;
+        this.engine = null;
+        this.limits = limits;
     }
 
     public String getBestMove(String fen) {
-        engine.startEngine();
-        String move = engine.getBestMove(fen);
-        engine.stopEngine();
-        return move;
+        if (pool == null) {
+            engine.startEngine();
+            return engine.getBestMove(fen, limits);
+        }
+        try (EnginePool.Lease lease = pool.lease()) {
+            return lease.engine().getBestMove(fen, limits);
+        } catch (EngineIsNotResponding e) {
+            try (EnginePool.Lease lease = pool.lease()) {
+                return lease.engine().getBestMove(fen, limits);
+            }
+        }
     }
 
     @Override
     public Move makeMove(Position position) {
-        Map<Character, Integer> notation = BoardUtils.getNotation();
-        String fen = position.getFen();
-        String move = getBestMove(fen);
-        System.out.println(move);
-        return new Move(
-                Coordinate.of(notation.get(move.charAt(0)) - 1, Integer.parseInt(String.valueOf(move.charAt(1))) - 1),
-                Coordinate.of(notation.get(move.charAt(2)) - 1, Integer.parseInt(String.valueOf(move.charAt(3))) - 1)
-        );
-    }
-}
\ No newline at end of file
+        return Move.fromUci(getBestMove(position.getFen()), position.getTurn());
+    }
+
+    @Override
+    public CompletableFuture<Move> requestMove(Position position) {
+        final String fen = position.getFen();
+        final Turn turn = position.getTurn();
+        return bestMoveAsync(fen)
+                .exceptionallyCompose(failure -> {
+                    if (pool == null || !(unwrap(failure) instanceof EngineIsNotResponding)) {
+                        return CompletableFuture.failedFuture(unwrap(failure));
+                    }
+                    return bestMoveAsync(fen);
+                })
+                .thenApply(uci -> Move.fromUci(uci, turn));
+    }
+
+    private CompletableFuture<String> bestMoveAsync(final String fen) {
+        if (pool == null) {
+            if (engine.isAlive()) return engine.bestMoveAsync(fen, limits);
+            return CompletableFuture.runAsync(engine::startEngine, Thread::startVirtualThread)
+                    .thenCompose(started -> engine.bestMoveAsync(fen, limits));
+        }
+        return CompletableFuture.supplyAsync(pool::lease, Thread::startVirtualThread).thenCompose(lease ->
+                lease.engine().bestMoveAsync(fen, limits).whenComplete((move, failure) -> lease.close()));
+    }
+
+    private static Throwable unwrap(final Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    @Override
+    public void close() {
+        if (pool == null) engine.stopEngine();
+    }
+}
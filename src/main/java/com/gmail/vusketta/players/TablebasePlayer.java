@@ -0,0 +1,32 @@
+package com.gmail.vusketta.players;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.tablebase.Tablebases;
+
+public class TablebasePlayer implements Player, AutoCloseable {
+    private final Tablebases tablebases;
+    private final Player fallback;
+
+    public TablebasePlayer(final Tablebases tablebases, final Player fallback) {
+        this.tablebases = tablebases;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Move makeMove(Position position) {
+        return tablebases.bestMove(position).orElseGet(() -> fallback.makeMove(position));
+    }
+
+    @Override
+    public void close() {
+        if (!(fallback instanceof AutoCloseable closeable)) return;
+        try {
+            closeable.close();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to close the fallback player", e);
+        }
+    }
+}
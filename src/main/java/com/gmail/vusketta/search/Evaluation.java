@@ -0,0 +1,38 @@
+package com.gmail.vusketta.search;
+
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.board.Cell;
+import com.gmail.vusketta.board.PieceSquareTables;
+
+public class Evaluation {
+    private static final int[] VALUES = {100, 500, 320, 330, 900, 20_000};
+
+    public static int value(final Cell cell) {
+        return VALUES[cell.ordinal() >> 1];
+    }
+
+    public static int evaluate(final Position position) {
+        final long whitePawns = position.getPieces(Cell.WHITE_PAWN);
+        final long blackPawns = position.getPieces(Cell.BLACK_PAWN);
+        return evaluate(position, PawnStructure.evaluate(whitePawns, blackPawns));
+    }
+
+    public static int evaluate(final Position position, final PawnCache pawnCache) {
+        final long whitePawns = position.getPieces(Cell.WHITE_PAWN);
+        final long blackPawns = position.getPieces(Cell.BLACK_PAWN);
+        return evaluate(position, pawnCache.get(position.getPawnKey(), whitePawns, blackPawns));
+    }
+
+    private static int evaluate(final Position position, final long pawns) {
+        final int mg = PawnStructure.mg(pawns) + shield(position, Cell.WHITE_KING, Cell.WHITE_PAWN, 0) -
+                shield(position, Cell.BLACK_KING, Cell.BLACK_PAWN, 1);
+        return position.getEvaluation() +
+                PieceSquareTables.taper(mg, PawnStructure.eg(pawns), position.getPhase(), position.getTurn());
+    }
+
+    private static int shield(final Position position, final Cell king, final Cell pawn, final int color) {
+        final int square = Long.numberOfTrailingZeros(position.getPieces(king));
+        final int rank = color == 0 ? square >>> 3 : 7 - (square >>> 3);
+        return rank > 1 ? 0 : PawnStructure.shield(position.getPieces(pawn), square, color);
+    }
+}
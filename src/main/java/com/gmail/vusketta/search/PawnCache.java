@@ -0,0 +1,56 @@
+package com.gmail.vusketta.search;
+
+import java.util.Arrays;
+
+public class PawnCache {
+    private final long[] keys;
+    private final long[] scores;
+    private final boolean[] used;
+    private final int mask;
+    private long probes;
+    private long hits;
+
+    public PawnCache(final int entries) {
+        if (entries <= 0) throw new IllegalArgumentException("Cache size must be positive: " + entries);
+        final int size = Integer.highestOneBit(entries);
+        keys = new long[size];
+        scores = new long[size];
+        used = new boolean[size];
+        mask = size - 1;
+    }
+
+    public long get(final long key, final long whitePawns, final long blackPawns) {
+        probes++;
+        final int index = (int) (key ^ key >>> 32) & mask;
+        if (used[index] && keys[index] == key) {
+            hits++;
+            return scores[index];
+        }
+        final long score = PawnStructure.evaluate(whitePawns, blackPawns);
+        keys[index] = key;
+        scores[index] = score;
+        used[index] = true;
+        return score;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        probes = hits = 0;
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    public long probes() {
+        return probes;
+    }
+
+    public long hits() {
+        return hits;
+    }
+
+    public double hitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+}
@@ -0,0 +1,96 @@
+package com.gmail.vusketta.search;
+
+import com.gmail.vusketta.board.Attacks;
+
+public class PawnStructure {
+    private static final int[] PASSED_MG = {0, 5, 10, 15, 25, 40, 60, 0};
+    private static final int[] PASSED_EG = {0, 10, 20, 35, 60, 100, 150, 0};
+    private static final int DOUBLED_MG = -10, DOUBLED_EG = -20;
+    private static final int ISOLATED_MG = -15, ISOLATED_EG = -10;
+    private static final int BACKWARD_MG = -10, BACKWARD_EG = -5;
+    private static final int SHIELD_CLOSE = 10, SHIELD_FAR = 5;
+
+    private static final long FILE_A = 0x0101010101010101L;
+    private static final long[] ADJACENT = new long[8];
+    private static final long[][] FRONT = new long[2][64];
+    private static final long[][] PASSED_SPAN = new long[2][64];
+    private static final long[][] SUPPORT_SPAN = new long[2][64];
+    private static final long[][] SHIELD = new long[2][64];
+
+    static {
+        for (int file = 0; file < 8; file++) {
+            ADJACENT[file] = (file > 0 ? FILE_A << file - 1 : 0) | (file < 7 ? FILE_A << file + 1 : 0);
+        }
+        for (int square = 0; square < 64; square++) {
+            final int file = square & 7;
+            final int rank = square >>> 3;
+            final long above = rank == 7 ? 0 : -1L << (rank + 1 << 3);
+            final long below = rank == 0 ? 0 : -1L >>> (8 - rank << 3);
+            FRONT[0][square] = FILE_A << file & above;
+            FRONT[1][square] = FILE_A << file & below;
+            PASSED_SPAN[0][square] = (FILE_A << file | ADJACENT[file]) & above;
+            PASSED_SPAN[1][square] = (FILE_A << file | ADJACENT[file]) & below;
+            SUPPORT_SPAN[0][square] = ADJACENT[file] & ~above;
+            SUPPORT_SPAN[1][square] = ADJACENT[file] & ~below;
+            final long wing = FILE_A << file | ADJACENT[file];
+            SHIELD[0][square] = rank < 6 ? wing & 0xFFL << (rank + 1 << 3) : 0;
+            SHIELD[1][square] = rank > 1 ? wing & 0xFFL << (rank - 1 << 3) : 0;
+        }
+    }
+
+    public static long evaluate(final long whitePawns, final long blackPawns) {
+        final long white = evaluate(whitePawns, blackPawns, 0);
+        final long black = evaluate(blackPawns, whitePawns, 1);
+        return pack(mg(white) - mg(black), eg(white) - eg(black));
+    }
+
+    public static int shield(final long pawns, final int king, final int color) {
+        final long close = SHIELD[color][king];
+        final long far = color == 0 ? close << 8 : close >>> 8;
+        return SHIELD_CLOSE * Long.bitCount(pawns & close) + SHIELD_FAR * Long.bitCount(pawns & far);
+    }
+
+    public static int mg(final long packed) {
+        return (int) (packed >> 32);
+    }
+
+    public static int eg(final long packed) {
+        return (int) packed;
+    }
+
+    private static long pack(final int mg, final int eg) {
+        return (long) mg << 32 | eg & 0xFFFFFFFFL;
+    }
+
+    private static long evaluate(final long own, final long enemy, final int color) {
+        int mg = 0;
+        int eg = 0;
+        long pawns = own;
+        while (pawns != 0) {
+            final int square = Long.numberOfTrailingZeros(pawns);
+            pawns &= pawns - 1;
+            final int file = square & 7;
+            final int rank = color == 0 ? square >>> 3 : 7 - (square >>> 3);
+            final boolean doubled = (own & FRONT[color][square]) != 0;
+            final boolean isolated = (own & ADJACENT[file]) == 0;
+            if (doubled) {
+                mg += DOUBLED_MG;
+                eg += DOUBLED_EG;
+            } else if ((enemy & PASSED_SPAN[color][square]) == 0) {
+                mg += PASSED_MG[rank];
+                eg += PASSED_EG[rank];
+            }
+            if (isolated) {
+                mg += ISOLATED_MG;
+                eg += ISOLATED_EG;
+            } else if ((own & SUPPORT_SPAN[color][square]) == 0 && rank < 6) {
+                final int stop = color == 0 ? square + 8 : square - 8;
+                if ((Attacks.pawnAttacks(color == 0, stop) & enemy) != 0) {
+                    mg += BACKWARD_MG;
+                    eg += BACKWARD_EG;
+                }
+            }
+        }
+        return pack(mg, eg);
+    }
+}
@@ -0,0 +1,258 @@
+package com.gmail.vusketta.search;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.MoveList;
+import com.gmail.vusketta.PackedMove;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.board.Cell;
+import com.gmail.vusketta.players.SearchLimits;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+public class Search {
+    public static final int INFINITY = 32_000;
+    public static final int MATE = 31_000;
+    public static final int MAX_PLY = 128;
+
+    private static final int CAPTURE = 1 << 24, KILLER = 1 << 22;
+
+    private final Board board;
+    private final Position position;
+    private final TranspositionTable table;
+    private final MoveList[] moveLists = new MoveList[MAX_PLY + 1];
+    private final int[][] killers = new int[MAX_PLY][2];
+    private final int[][] history = new int[64][64];
+    private final PawnCache pawnCache = new PawnCache(1 << 14);
+    private Consumer<SearchResult> listener = result -> {};
+    private SearchLimits limits;
+    private long start;
+    private long nodes;
+    private int rootDepth;
+    private volatile boolean stopped;
+
+    public Search(final Board board) {
+        this(board, new TranspositionTable(16));
+    }
+
+    public Search(final Board board, final TranspositionTable table) {
+        this.board = board;
+        this.position = board.getPosition();
+        this.table = table;
+        for (int ply = 0; ply <= MAX_PLY; ply++) moveLists[ply] = new MoveList();
+    }
+
+    public void setListener(final Consumer<SearchResult> listener) {
+        this.listener = listener;
+    }
+
+    public void stop() {
+        stopped = true;
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public PawnCache getPawnCache() {
+        return pawnCache;
+    }
+
+    public SearchResult search(final SearchLimits limits) {
+        return search(limits, 1);
+    }
+
+    public SearchResult search(final SearchLimits limits, final int firstDepth) {
+        this.limits = limits;
+        start = System.nanoTime();
+        nodes = 0;
+        for (int[] killer : killers) killer[0] = killer[1] = 0;
+        for (int[] scores : history) {
+            for (int to = 0; to < 64; to++) scores[to] >>= 1;
+        }
+
+        final MoveList rootMoves = moveLists[0];
+        position.legalMoves(rootMoves);
+        if (rootMoves.isEmpty()) throw new IllegalStateException("No legal moves in " + position.getFen());
+        int bestMove = rootMoves.get(0);
+        int bestScore = 0;
+        int bestDepth = 0;
+        final int maxDepth = limits.depth() > 0 ? Math.min(limits.depth(), MAX_PLY - 1) : MAX_PLY - 1;
+        for (rootDepth = firstDepth; rootDepth <= maxDepth; rootDepth++) {
+            scoreMoves(rootMoves, 0, bestMove);
+            int alpha = -INFINITY;
+            int iterationMove = 0;
+            for (int i = 0; i < rootMoves.size(); i++) {
+                final int move = rootMoves.pickNext(i);
+                board.makeMove(move);
+                final int score = -negamax(rootDepth - 1, 1, -INFINITY, -alpha);
+                board.unmakeMove();
+                if (stopped) break;
+                if (score > alpha) {
+                    alpha = score;
+                    iterationMove = move;
+                }
+            }
+            if (stopped) break;
+            bestMove = iterationMove;
+            bestScore = alpha;
+            bestDepth = rootDepth;
+            final SearchResult result = result(bestMove, bestScore, bestDepth);
+            listener.accept(result);
+            if (result.isMate() || limits.moveTime() > 0 && elapsed() * 2000 > limits.moveTime()) break;
+        }
+        return result(bestMove, bestScore, bestDepth);
+    }
+
+    private SearchResult result(final int move, final int score, final int depth) {
+        return SearchResult.of(Move.unpack(move, position.getTurn()), score, depth, nodes, elapsed());
+    }
+
+    private int negamax(final int depth, final int ply, int alpha, final int beta) {
+        if (depth <= 0) return quiescence(ply, alpha, beta);
+        if (countNode()) return 0;
+        if (position.isDrawByRule()) return 0;
+
+        final long key = position.getZobristKey();
+        final long entry = table.probe(key);
+        int hashMove = 0;
+        if (entry != 0) {
+            hashMove = TranspositionTable.move(entry);
+            if (TranspositionTable.depth(entry) >= depth) {
+                final int score = fromTable(TranspositionTable.score(entry), ply);
+                final int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT || bound == TranspositionTable.LOWER && score >= beta ||
+                        bound == TranspositionTable.UPPER && score <= alpha) return score;
+            }
+        }
+
+        final MoveList moves = moveLists[ply];
+        position.legalMoves(moves);
+        if (moves.isEmpty()) return position.isInCheck() ? -MATE + ply : 0;
+        if (ply >= MAX_PLY - 1) return Evaluation.evaluate(position, pawnCache);
+
+        final int originalAlpha = alpha;
+        scoreMoves(moves, ply, hashMove);
+        int best = -INFINITY;
+        int bestMove = moves.get(0);
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.pickNext(i);
+            board.makeMove(move);
+            final int score = -negamax(depth - 1, ply + 1, -beta, -alpha);
+            board.unmakeMove();
+            if (stopped) return 0;
+            if (score > best) {
+                best = score;
+                bestMove = move;
+            }
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) {
+                if (!PackedMove.isTactical(move)) storeQuietCutoff(move, ply, depth);
+                break;
+            }
+        }
+        final int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+        table.store(key, PackedMove.key(bestMove), toTable(best, ply), depth, bound);
+        return best;
+    }
+
+    private static int toTable(final int score, final int ply) {
+        return score >= MATE - MAX_PLY ? score + ply : score <= -MATE + MAX_PLY ? score - ply : score;
+    }
+
+    private static int fromTable(final int score, final int ply) {
+        return score >= MATE - MAX_PLY ? score - ply : score <= -MATE + MAX_PLY ? score + ply : score;
+    }
+
+    private int quiescence(final int ply, int alpha, final int beta) {
+        if (countNode()) return 0;
+        final int standPat = Evaluation.evaluate(position, pawnCache);
+        if (standPat >= beta || ply >= MAX_PLY - 1) return standPat;
+        if (standPat > alpha) alpha = standPat;
+
+        final MoveList moves = moveLists[ply];
+        position.legalCaptures(moves);
+        scoreMoves(moves, ply, 0);
+        int best = standPat;
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.pickNext(i);
+            board.makeMove(move);
+            final int score = -quiescence(ply + 1, -beta, -alpha);
+            board.unmakeMove();
+            if (stopped) return 0;
+            if (score > best) best = score;
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) break;
+        }
+        return best;
+    }
+
+    private boolean countNode() {
+        if ((++nodes & 1023) == 0 && rootDepth > 1) {
+            if (limits.nodes() > 0 && nodes >= limits.nodes() ||
+                    limits.moveTime() > 0 && elapsed() * 1000 >= limits.moveTime()) stopped = true;
+        }
+        return stopped;
+    }
+
+    private double elapsed() {
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private void scoreMoves(final MoveList moves, final int ply, final int hashMove) {
+        for (int i = 0; i < moves.size(); i++) {
+            final int move = moves.get(i);
+            final int key = PackedMove.key(move);
+            final int score;
+            if (hashMove != 0 && key == PackedMove.key(hashMove)) {
+                score = Integer.MAX_VALUE;
+            } else if (PackedMove.isTactical(move)) {
+                final int to = PackedMove.to(move);
+                final int gain = (PackedMove.isEnPassant(move) ? Evaluation.value(Cell.WHITE_PAWN)
+                        : PackedMove.isCapture(move) ? Evaluation.value(cell(to)) : 0) +
+                        (PackedMove.promotion(move) == 4 ? Evaluation.value(Cell.WHITE_QUEEN) : 0);
+                score = CAPTURE + 16 * gain - Evaluation.value(cell(PackedMove.from(move))) / 16;
+            } else if (key == killers[ply][0]) {
+                score = KILLER + 1;
+            } else if (key == killers[ply][1]) {
+                score = KILLER;
+            } else {
+                score = Math.min(history[PackedMove.from(move)][PackedMove.to(move)], KILLER - 1);
+            }
+            moves.setScore(i, score);
+        }
+    }
+
+    private Cell cell(final int square) {
+        return position.getCell(square >>> 3, square & 7);
+    }
+
+    private void storeQuietCutoff(final int move, final int ply, final int depth) {
+        final int key = PackedMove.key(move);
+        if (key != killers[ply][0]) {
+            killers[ply][1] = killers[ply][0];
+            killers[ply][0] = key;
+        }
+        history[PackedMove.from(move)][PackedMove.to(move)] += depth * depth;
+    }
+
+    public static void main(String[] args) {
+        final int moveTime = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        final String fen = args.length > 1 ? String.join(" ", List.of(args).subList(1, args.length)) : BoardUtils.INITIAL_FEN;
+        final TranspositionTable table = new TranspositionTable(64);
+        table.newSearch();
+        final Search search = new Search(new BitBoard(fen), table);
+        search.setListener(result -> System.out.println("info " + result));
+        final SearchResult result = search.search(SearchLimits.moveTime(moveTime));
+        System.out.printf("info hash %d MB probes %d hits %d (%.1f%%)%n",
+                table.sizeMb(), table.probes(), table.hits(), 100 * table.hitRate());
+        final PawnCache pawnCache = search.getPawnCache();
+        System.out.printf("info pawn cache %d entries probes %d hits %d (%.1f%%)%n",
+                pawnCache.size(), pawnCache.probes(), pawnCache.hits(), 100 * pawnCache.hitRate());
+        System.out.println("bestmove " + result.move().toUci());
+    }
+}
@@ -0,0 +1,27 @@
+package com.gmail.vusketta.search;
+
+import com.gmail.vusketta.Move;
+
+public record SearchResult(Move move, int score, int depth, long nodes, double seconds) {
+
+    public static SearchResult of(Move move, int score, int depth, long nodes, double seconds) {
+        return new SearchResult(move, score, depth, nodes, seconds);
+    }
+
+    public long nodesPerSecond() {
+        return seconds > 0 ? (long) (nodes / seconds) : 0;
+    }
+
+    public boolean isMate() {
+        return Math.abs(score) >= Search.MATE - Search.MAX_PLY;
+    }
+
+    @Override
+    public String toString() {
+        final String value = isMate()
+                ? "mate " + (score > 0 ? (Search.MATE - score + 1) / 2 : -(Search.MATE + score) / 2)
+                : "cp " + score;
+        return String.format("depth %d score %s nodes %d nps %d time %d pv %s",
+                depth, value, nodes, nodesPerSecond(), (long) (seconds * 1000), move.toUci());
+    }
+}
@@ -0,0 +1,105 @@
+package com.gmail.vusketta.search;
+
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.PositionSnapshot;
+import com.gmail.vusketta.metrics.Metrics;
+import com.gmail.vusketta.players.SearchLimits;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+public class SmpSearch implements AutoCloseable {
+    private final TranspositionTable table;
+    private final int threads;
+    private final ExecutorService helpers;
+
+    public SmpSearch(final TranspositionTable table, final int threads) {
+        if (threads <= 0) throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        this.table = table;
+        this.threads = threads;
+        this.helpers = threads == 1 ? null : Executors.newFixedThreadPool(threads - 1, runnable -> {
+            final Thread thread = new Thread(runnable, "smp-helper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public SearchResult search(final String fen, final SearchLimits limits) {
+        return search(PositionSnapshot.of(fen), limits);
+    }
+
+    public SearchResult search(final String fen, final SearchLimits limits, final Consumer<SearchResult> listener) {
+        return search(PositionSnapshot.of(fen), limits, listener);
+    }
+
+    public SearchResult search(final Position root, final SearchLimits limits) {
+        return search(root, limits, result -> {});
+    }
+
+    public SearchResult search(final Position root, final SearchLimits limits, final Consumer<SearchResult> listener) {
+        final PositionSnapshot snapshot = root.snapshot();
+        table.newSearch();
+        final List<Search> searches = new ArrayList<>(threads - 1);
+        final List<Future<?>> futures = new ArrayList<>(threads - 1);
+        for (int i = 1; i < threads; i++) {
+            final Search helper = new Search(new BitBoard(snapshot), table);
+            Metrics.BOARD_COPIES.increment();
+            final int firstDepth = 1 + i % 2;
+            searches.add(helper);
+            futures.add(helpers.submit(() -> helper.search(limits, firstDepth)));
+        }
+
+        final Search main = new Search(new BitBoard(snapshot), table);
+        Metrics.BOARD_COPIES.increment();
+        main.setListener(listener);
+        final SearchResult result;
+        try {
+            result = main.search(limits);
+        } catch (RuntimeException e) {
+            join(searches, futures, e);
+            throw e;
+        }
+        join(searches, futures, null);
+        long nodes = main.getNodes();
+        for (Search helper : searches) nodes += helper.getNodes();
+        return SearchResult.of(result.move(), result.score(), result.depth(), nodes, result.seconds());
+    }
+
+    @Override
+    public void close() {
+        if (helpers != null) helpers.shutdownNow();
+    }
+
+    private static void join(final List<Search> searches, final List<Future<?>> futures, final RuntimeException failure) {
+        for (Search helper : searches) helper.stop();
+        RuntimeException thrown = failure;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                thrown = suppress(thrown, new IllegalStateException("Search helper failed", e.getCause()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                thrown = suppress(thrown, new IllegalStateException("Interrupted while joining search helpers", e));
+                break;
+            }
+        }
+        if (thrown != null) throw thrown;
+    }
+
+    private static RuntimeException suppress(final RuntimeException thrown, final RuntimeException failure) {
+        if (thrown == null) return failure;
+        thrown.addSuppressed(failure);
+        return thrown;
+    }
+}
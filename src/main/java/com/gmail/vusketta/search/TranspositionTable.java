@@ -0,0 +1,114 @@
+package com.gmail.vusketta.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TranspositionTable {
+    public static final int UPPER = 1, LOWER = 2, EXACT = 3;
+
+    private static final int BUCKET = 4;
+    private static final int ENTRY_BYTES = 16;
+
+    private final long[] table;
+    private final int mask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private volatile int age;
+
+    public TranspositionTable(final int megabytes) {
+        if (megabytes <= 0) throw new IllegalArgumentException("Table size must be positive: " + megabytes);
+        final long entries = ((long) megabytes << 20) / ENTRY_BYTES;
+        final long buckets = Long.highestOneBit(Math.max(entries / BUCKET, 1));
+        if (buckets * BUCKET * 2 > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Table is too large: " + megabytes + " MB");
+        table = new long[(int) (buckets * BUCKET * 2)];
+        mask = (int) buckets - 1;
+    }
+
+    public long probe(final long key) {
+        probes.increment();
+        final int bucket = index(key);
+        for (int i = bucket; i < bucket + 2 * BUCKET; i += 2) {
+            final long data = table[i + 1];
+            if ((table[i] ^ data) == key && data != 0) {
+                hits.increment();
+                return data;
+            }
+        }
+        return 0;
+    }
+
+    public void store(final long key, final int move, final int score, final int depth, final int bound) {
+        final int bucket = index(key);
+        int replace = bucket;
+        int worst = Integer.MAX_VALUE;
+        for (int i = bucket; i < bucket + 2 * BUCKET; i += 2) {
+            final long data = table[i + 1];
+            if (data == 0 || (table[i] ^ data) == key) {
+                if (data != 0 && depth < depth(data) - 2 && bound != EXACT && age(data) == age) return;
+                replace = i;
+                break;
+            }
+            final int value = depth(data) - 8 * (age - age(data) & 63);
+            if (value < worst) {
+                worst = value;
+                replace = i;
+            }
+        }
+        final long data = (move & 0xFFFFL) | (score & 0xFFFFL) << 16 | (long) (depth & 0xFF) << 32 |
+                (long) bound << 40 | (long) age << 42;
+        table[replace] = key ^ data;
+        table[replace + 1] = data;
+    }
+
+    public void newSearch() {
+        age = age + 1 & 63;
+    }
+
+    public void clear() {
+        Arrays.fill(table, 0);
+        probes.reset();
+        hits.reset();
+        age = 0;
+    }
+
+    public long probes() {
+        return probes.sum();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public double hitRate() {
+        final long probes = probes();
+        return probes == 0 ? 0 : (double) hits() / probes;
+    }
+
+    public int sizeMb() {
+        return (int) ((long) table.length * Long.BYTES >> 20);
+    }
+
+    public static int move(final long data) {
+        return (int) (data & 0xFFFF);
+    }
+
+    public static int score(final long data) {
+        return (short) (data >>> 16);
+    }
+
+    public static int depth(final long data) {
+        return (int) (data >>> 32 & 0xFF);
+    }
+
+    public static int bound(final long data) {
+        return (int) (data >>> 40 & 3);
+    }
+
+    private static int age(final long data) {
+        return (int) (data >>> 42 & 63);
+    }
+
+    private int index(final long key) {
+        return ((int) (key >>> 32) & mask) * BUCKET * 2;
+    }
+}
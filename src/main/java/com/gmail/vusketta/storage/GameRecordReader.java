@@ -0,0 +1,89 @@
+package com.gmail.vusketta.storage;
+
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+public class GameRecordReader {
+    private final MappedFile file;
+    private long offset = GameRecords.HEADER_BYTES;
+    private long movesOffset;
+    private int plies;
+    private int result;
+    private String startFen;
+
+    public GameRecordReader(final Path path) {
+        this(path, MappedFile.WINDOW_BYTES);
+    }
+
+    GameRecordReader(final Path path, final long windowBytes) {
+        file = GameRecords.map(path, GameRecords.GAME_MAGIC, windowBytes);
+    }
+
+    public boolean next() {
+        if (offset >= file.size()) return false;
+        plies = Short.toUnsignedInt(file.getShort(offset));
+        result = file.get(offset + 2);
+        movesOffset = offset + 4;
+        startFen = BoardUtils.INITIAL_FEN;
+        if ((file.get(offset + 3) & 1) != 0) {
+            final byte[] fen = new byte[Short.toUnsignedInt(file.getShort(movesOffset))];
+            file.get(movesOffset + 2, fen);
+            startFen = new String(fen, StandardCharsets.US_ASCII);
+            movesOffset += 2 + fen.length;
+        }
+        offset = movesOffset + 2 * plies;
+        if (offset > file.size()) throw new IllegalStateException("Truncated game record at " + movesOffset);
+        return true;
+    }
+
+    public int plies() {
+        return plies;
+    }
+
+    public int result() {
+        return result;
+    }
+
+    public String startFen() {
+        return startFen;
+    }
+
+    public int move(final int ply) {
+        return Short.toUnsignedInt(file.getShort(movesOffset + 2 * ply));
+    }
+
+    public Board replay() {
+        final Board board = new BitBoard(startFen);
+        for (int ply = 0; ply < plies; ply++) board.makeMove(move(ply));
+        return board;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: GameRecordReader <games.cgr> [positions.cpd]");
+            return;
+        }
+        final long start = System.nanoTime();
+        final GameRecordReader reader = new GameRecordReader(Path.of(args[0]));
+        final PositionDumpWriter dump = args.length > 1 ? new PositionDumpWriter(Path.of(args[1])) : null;
+        long games = 0;
+        long positions = 0;
+        while (reader.next()) {
+            final Board board = new BitBoard(reader.startFen());
+            for (int ply = 0; ply < reader.plies(); ply++) {
+                if (dump != null) dump.write(board.getPosition(), reader.result());
+                board.makeMove(reader.move(ply));
+            }
+            positions += reader.plies();
+            games++;
+        }
+        if (dump != null) dump.close();
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d games, %d positions replayed in %.3f s (%.0f positions/s)%n",
+                games, positions, seconds, positions / seconds);
+    }
+}
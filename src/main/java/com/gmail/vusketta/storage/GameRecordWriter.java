@@ -0,0 +1,71 @@
+package com.gmail.vusketta.storage;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.pgn.PgnGame;
+import com.gmail.vusketta.pgn.PgnReader;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+
+public class GameRecordWriter implements AutoCloseable {
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(GameRecords.BUFFER_BYTES);
+    private long games;
+
+    public GameRecordWriter(final Path path) {
+        channel = GameRecords.create(path, GameRecords.GAME_MAGIC);
+    }
+
+    public synchronized void write(final String startFen, final List<Move> moves, final int result) {
+        if (moves.size() > 0xFFFF) throw new IllegalArgumentException("Game is too long: " + moves.size() + " plies");
+        final byte[] fen = startFen.equals(BoardUtils.INITIAL_FEN) ? null : startFen.getBytes(StandardCharsets.US_ASCII);
+        final int bytes = 4 + (fen == null ? 0 : 2 + fen.length) + 2 * moves.size();
+        if (buffer.remaining() < bytes) GameRecords.drain(channel, buffer);
+        buffer.putShort((short) moves.size()).put((byte) result).put((byte) (fen == null ? 0 : 1));
+        if (fen != null) buffer.putShort((short) fen.length).put(fen);
+        for (Move move : moves) buffer.putShort((short) move.pack());
+        games++;
+    }
+
+    public synchronized long games() {
+        return games;
+    }
+
+    public synchronized void flush() {
+        GameRecords.drain(channel, buffer);
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not close game records", e);
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Usage: GameRecordWriter <games.pgn> <games.cgr>");
+            return;
+        }
+        final long start = System.nanoTime();
+        try (PgnReader reader = new PgnReader(Path.of(args[0]));
+             GameRecordWriter writer = new GameRecordWriter(Path.of(args[1]))) {
+            PgnGame game;
+            while ((game = reader.next()) != null) {
+                writer.write(game.startFen(), game.replay(new BitBoard(game.startFen())),
+                        GameRecords.result(game.result()));
+            }
+            System.out.printf("%d games converted in %.3f s%n", writer.games(), (System.nanoTime() - start) / 1e9);
+        }
+    }
+}
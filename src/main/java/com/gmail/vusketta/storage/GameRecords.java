@@ -0,0 +1,69 @@
+package com.gmail.vusketta.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class GameRecords {
+    public static final int UNKNOWN = 0, WHITE_WINS = 1, BLACK_WINS = 2, DRAW = 3;
+
+    static final int GAME_MAGIC = 0x43475231;
+    static final int POSITION_MAGIC = 0x43504431;
+    static final int HEADER_BYTES = 8;
+    static final int BUFFER_BYTES = 1 << 20;
+
+    public static int result(final String pgnResult) {
+        return switch (pgnResult) {
+            case "1-0" -> WHITE_WINS;
+            case "0-1" -> BLACK_WINS;
+            case "1/2-1/2" -> DRAW;
+            default -> UNKNOWN;
+        };
+    }
+
+    public static String pgnResult(final int result) {
+        return switch (result) {
+            case WHITE_WINS -> "1-0";
+            case BLACK_WINS -> "0-1";
+            case DRAW -> "1/2-1/2";
+            default -> "*";
+        };
+    }
+
+    static FileChannel create(final Path path, final int magic) {
+        try {
+            final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(magic).putInt(1).flip();
+            while (header.hasRemaining()) channel.write(header);
+            return channel;
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not create " + path, e);
+        }
+    }
+
+    static void drain(final FileChannel channel, final ByteBuffer buffer) {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not write records", e);
+        }
+        buffer.clear();
+    }
+
+    static MappedFile map(final Path path, final int magic) {
+        return map(path, magic, MappedFile.WINDOW_BYTES);
+    }
+
+    static MappedFile map(final Path path, final int magic, final long windowBytes) {
+        final MappedFile file = new MappedFile(path, windowBytes);
+        if (file.size() < HEADER_BYTES || file.getInt(0) != magic) {
+            throw new IllegalArgumentException("Unexpected file format: " + path);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,66 @@
+package com.gmail.vusketta.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class MappedFile {
+    static final long WINDOW_BYTES = 1L << 30;
+    static final int OVERLAP_BYTES = 1 << 18;
+
+    private final MappedByteBuffer[] windows;
+    private final long windowBytes;
+    private final long size;
+
+    MappedFile(final Path path, final long windowBytes) {
+        this.windowBytes = windowBytes;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            size = channel.size();
+            final long count = Math.max(1, (size + windowBytes - 1) / windowBytes);
+            if (count > Integer.MAX_VALUE) throw new IllegalArgumentException("File is too large to map: " + path);
+            windows = new MappedByteBuffer[(int) count];
+            for (int i = 0; i < windows.length; i++) {
+                final long start = i * windowBytes;
+                final long length = Math.min(size - start, windowBytes + OVERLAP_BYTES);
+                windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.max(length, 0));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not map " + path, e);
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    byte get(final long position) {
+        return window(position).get(offset(position));
+    }
+
+    short getShort(final long position) {
+        return window(position).getShort(offset(position));
+    }
+
+    int getInt(final long position) {
+        return window(position).getInt(offset(position));
+    }
+
+    long getLong(final long position) {
+        return window(position).getLong(offset(position));
+    }
+
+    void get(final long position, final byte[] bytes) {
+        window(position).get(offset(position), bytes);
+    }
+
+    private MappedByteBuffer window(final long position) {
+        return windows[(int) (position / windowBytes)];
+    }
+
+    private int offset(final long position) {
+        return (int) (position % windowBytes);
+    }
+}
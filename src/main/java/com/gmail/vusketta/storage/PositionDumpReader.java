@@ -0,0 +1,85 @@
+package com.gmail.vusketta.storage;
+
+import com.gmail.vusketta.Turn;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Cell;
+import com.gmail.vusketta.board.Fen;
+
+import java.nio.file.Path;
+
+import static com.gmail.vusketta.storage.PositionDumpWriter.RECORD_BYTES;
+
+public class PositionDumpReader {
+    private static final Cell[] CELLS = Cell.values();
+
+    private final MappedFile file;
+    private final int size;
+
+    public PositionDumpReader(final Path path) {
+        this(path, MappedFile.WINDOW_BYTES);
+    }
+
+    PositionDumpReader(final Path path, final long windowBytes) {
+        file = GameRecords.map(path, GameRecords.POSITION_MAGIC, windowBytes);
+        final long bytes = file.size() - GameRecords.HEADER_BYTES;
+        if (bytes % RECORD_BYTES != 0) throw new IllegalArgumentException("Truncated position dump: " + path);
+        if (bytes / RECORD_BYTES > Integer.MAX_VALUE) throw new IllegalArgumentException("Too many positions: " + path);
+        size = (int) (bytes / RECORD_BYTES);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long key(final int index) {
+        return file.getLong(offset(index));
+    }
+
+    public Cell cell(final int index, final int square) {
+        return CELLS[file.get(offset(index) + 8 + (square >>> 1)) >>> ((square & 1) << 2) & 0xF];
+    }
+
+    public Turn turn(final int index) {
+        return (file.get(offset(index) + 40) & 1) == 0 ? Turn.WHITE : Turn.BLACK;
+    }
+
+    public int castlingRights(final int index) {
+        return file.get(offset(index) + 40) >>> 1 & 15;
+    }
+
+    public int enPassant(final int index) {
+        return file.get(offset(index) + 41);
+    }
+
+    public int halfmoveClock(final int index) {
+        return Byte.toUnsignedInt(file.get(offset(index) + 42));
+    }
+
+    public int result(final int index) {
+        return file.get(offset(index) + 43);
+    }
+
+    public Fen fen(final int index) {
+        final Cell[] board = new Cell[64];
+        for (int square = 0; square < 64; square++) board[square] = cell(index, square);
+        return new Fen(board, turn(index), castlingRights(index), enPassant(index), halfmoveClock(index), 1);
+    }
+
+    private static long offset(final int index) {
+        return GameRecords.HEADER_BYTES + (long) index * RECORD_BYTES;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.out.println("Usage: PositionDumpReader <positions.cpd> [count]");
+            return;
+        }
+        final PositionDumpReader reader = new PositionDumpReader(Path.of(args[0]));
+        final int count = Math.min(reader.size(), args.length > 1 ? Integer.parseInt(args[1]) : 5);
+        System.out.println(reader.size() + " positions");
+        for (int i = 0; i < count; i++) {
+            final String fen = new BitBoard(reader.fen(i)).getPosition().getFen();
+            System.out.printf("%016x %s %s%n", reader.key(i), fen, GameRecords.pgnResult(reader.result(i)));
+        }
+    }
+}
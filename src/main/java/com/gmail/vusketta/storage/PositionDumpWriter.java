@@ -0,0 +1,65 @@
+package com.gmail.vusketta.storage;
+
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.Turn;
+import com.gmail.vusketta.board.Cell;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class PositionDumpWriter implements AutoCloseable {
+    public static final int RECORD_BYTES = 44;
+    private static final Cell[] CELLS = Cell.values();
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(GameRecords.BUFFER_BYTES / RECORD_BYTES * RECORD_BYTES);
+    private final byte[] board = new byte[32];
+    private long positions;
+
+    public PositionDumpWriter(final Path path) {
+        channel = GameRecords.create(path, GameRecords.POSITION_MAGIC);
+    }
+
+    public synchronized void write(final Position position, final int result) {
+        if (!buffer.hasRemaining()) GameRecords.drain(channel, buffer);
+        final byte empty = (byte) (Cell.EMPTY.ordinal() * 0x11);
+        Arrays.fill(board, empty);
+        for (int cell = 0; cell < 12; cell++) {
+            long bits = position.getPieces(CELLS[cell]);
+            while (bits != 0) {
+                final int square = Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                final int shift = (square & 1) << 2;
+                board[square >>> 1] = (byte) (board[square >>> 1] & ~(0xF << shift) | cell << shift);
+            }
+        }
+        buffer.putLong(position.getZobristKey()).put(board)
+                .put((byte) ((position.getTurn() == Turn.WHITE ? 0 : 1) | position.getCastlingRights() << 1))
+                .put((byte) position.getEnPassant())
+                .put((byte) Math.min(position.getHalfmoveClock(), 255))
+                .put((byte) result);
+        positions++;
+    }
+
+    public synchronized long positions() {
+        return positions;
+    }
+
+    public synchronized void flush() {
+        GameRecords.drain(channel, buffer);
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not close position dump", e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.gmail.vusketta.tablebase;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class Tablebase {
+    public static final int POSITIONS = 2 * 64 * 64 * 64;
+    static final int MAGIC = 0x43544231;
+    static final int HEADER_BYTES = 16;
+    static final int DRAW = 0, WIN = 1, LOSS = 2;
+
+    private final MappedByteBuffer buffer;
+    private final int type;
+
+    public Tablebase(final Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() != HEADER_BYTES + POSITIONS / 4 + POSITIONS) {
+                throw new IllegalArgumentException("Not a tablebase file: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not open tablebase " + path, e);
+        }
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(8) != POSITIONS) {
+            throw new IllegalArgumentException("Not a tablebase file: " + path);
+        }
+        type = buffer.getInt(4);
+    }
+
+    public static int index(final int sideToMove, final int strongKing, final int weakKing, final int piece) {
+        return sideToMove << 18 | strongKing << 12 | weakKing << 6 | piece;
+    }
+
+    public static String fileName(final int type) {
+        return "K" + "PRNBQ".charAt(type) + "K.tb";
+    }
+
+    public int type() {
+        return type;
+    }
+
+    public Wdl wdl(final int index) {
+        return switch (buffer.get(HEADER_BYTES + (index >>> 2)) >>> ((index & 3) << 1) & 3) {
+            case WIN -> Wdl.WIN;
+            case LOSS -> Wdl.LOSS;
+            default -> Wdl.DRAW;
+        };
+    }
+
+    public int plies(final int index) {
+        return Byte.toUnsignedInt(buffer.get(HEADER_BYTES + POSITIONS / 4 + index));
+    }
+}
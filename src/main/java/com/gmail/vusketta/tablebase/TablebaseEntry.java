@@ -0,0 +1,7 @@
+package com.gmail.vusketta.tablebase;
+
+public record TablebaseEntry(Wdl wdl, int plies) {
+    public static TablebaseEntry of(final Wdl wdl, final int plies) {
+        return new TablebaseEntry(wdl, plies);
+    }
+}
@@ -0,0 +1,232 @@
+package com.gmail.vusketta.tablebase;
+
+import com.gmail.vusketta.board.Attacks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static com.gmail.vusketta.tablebase.Tablebase.DRAW;
+import static com.gmail.vusketta.tablebase.Tablebase.LOSS;
+import static com.gmail.vusketta.tablebase.Tablebase.POSITIONS;
+import static com.gmail.vusketta.tablebase.Tablebase.WIN;
+
+public class TablebaseGenerator {
+    public static final int PAWN = 0, ROOK = 1, QUEEN = 4;
+
+    private static final int UNKNOWN = 3, INVALID = 4;
+    private static final int TERMINAL_DRAW = 1 << 20, QUEEN_TABLE = 2 << 20, ROOK_TABLE = 3 << 20;
+    private static final int INDEX_MASK = (1 << 20) - 1;
+
+    private final int type;
+    private final byte[] states = new byte[POSITIONS];
+    private final byte[] plies = new byte[POSITIONS];
+    private final TablebaseGenerator queen;
+    private final TablebaseGenerator rook;
+
+    private TablebaseGenerator(final int type, final TablebaseGenerator queen, final TablebaseGenerator rook) {
+        this.type = type;
+        this.queen = queen;
+        this.rook = rook;
+    }
+
+    public static TablebaseGenerator generate(final int type, final TablebaseGenerator queen,
+                                              final TablebaseGenerator rook) {
+        if (type == PAWN && (queen == null || rook == null)) {
+            throw new IllegalArgumentException("KPK needs the KQK and KRK tables for promotions");
+        }
+        final TablebaseGenerator generator = new TablebaseGenerator(type, queen, rook);
+        generator.solve();
+        return generator;
+    }
+
+    public int passes() {
+        int max = 0;
+        for (int index = 0; index < POSITIONS; index++) {
+            if (states[index] == WIN || states[index] == LOSS) max = Math.max(max, plies(index));
+        }
+        return max;
+    }
+
+    public long count(final int state) {
+        long count = 0;
+        for (byte value : states) if (value == state) count++;
+        return count;
+    }
+
+    public void write(final Path path) {
+        final ByteBuffer buffer = ByteBuffer.allocate(Tablebase.HEADER_BYTES + POSITIONS / 4 + POSITIONS);
+        buffer.putInt(Tablebase.MAGIC).putInt(type).putInt(POSITIONS).putInt(0);
+        for (int index = 0; index < POSITIONS; index += 4) {
+            int packed = 0;
+            for (int i = 0; i < 4; i++) packed |= code(index + i) << (i << 1);
+            buffer.put((byte) packed);
+        }
+        buffer.put(plies);
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException("can not write tablebase " + path, e);
+        }
+    }
+
+    private void solve() {
+        final int[] successors = new int[64];
+        for (int index = 0; index < POSITIONS; index++) {
+            if (!isValid(index)) {
+                states[index] = INVALID;
+            } else if (successors(index, successors) == 0) {
+                states[index] = (byte) (index >>> 18 == 1 && isWeakKingInCheck(index) ? LOSS : DRAW);
+            } else {
+                states[index] = UNKNOWN;
+            }
+        }
+        boolean changed = true;
+        for (int pass = 1; changed; pass++) {
+            changed = false;
+            for (int index = 0; index < POSITIONS; index++) {
+                if (states[index] != UNKNOWN) continue;
+                final int count = successors(index, successors);
+                boolean lost = true;
+                for (int i = 0; i < count; i++) {
+                    final int successor = successors[i];
+                    final int state = state(successor);
+                    final boolean resolved = (state == WIN || state == LOSS) && plies(successor) < pass;
+                    if (resolved && state == LOSS) {
+                        states[index] = WIN;
+                        plies[index] = (byte) pass;
+                        changed = true;
+                        lost = false;
+                        break;
+                    }
+                    if (!resolved || state != WIN) lost = false;
+                }
+                if (lost) {
+                    states[index] = LOSS;
+                    plies[index] = (byte) pass;
+                    changed = true;
+                }
+            }
+        }
+        for (int index = 0; index < POSITIONS; index++) {
+            if (states[index] == UNKNOWN) states[index] = DRAW;
+        }
+    }
+
+    private int state(final int successor) {
+        return switch (successor & ~INDEX_MASK) {
+            case TERMINAL_DRAW -> DRAW;
+            case QUEEN_TABLE -> queen.states[successor & INDEX_MASK];
+            case ROOK_TABLE -> rook.states[successor & INDEX_MASK];
+            default -> states[successor];
+        };
+    }
+
+    private int plies(final int successor) {
+        return switch (successor & ~INDEX_MASK) {
+            case TERMINAL_DRAW -> 0;
+            case QUEEN_TABLE -> Byte.toUnsignedInt(queen.plies[successor & INDEX_MASK]);
+            case ROOK_TABLE -> Byte.toUnsignedInt(rook.plies[successor & INDEX_MASK]);
+            default -> Byte.toUnsignedInt(plies[successor]);
+        };
+    }
+
+    private int code(final int index) {
+        return switch (states[index]) {
+            case WIN -> WIN;
+            case LOSS -> LOSS;
+            default -> DRAW;
+        };
+    }
+
+    private boolean isValid(final int index) {
+        final int strongKing = index >>> 12 & 63;
+        final int weakKing = index >>> 6 & 63;
+        final int piece = index & 63;
+        if (strongKing == weakKing || piece == strongKing || piece == weakKing) return false;
+        if ((Attacks.kingAttacks(strongKing) & 1L << weakKing) != 0) return false;
+        if (type == PAWN && (piece < 8 || piece >= 56)) return false;
+        return index >>> 18 == 1 || !isWeakKingInCheck(index);
+    }
+
+    private boolean isWeakKingInCheck(final int index) {
+        final int strongKing = index >>> 12 & 63;
+        final int weakKing = index >>> 6 & 63;
+        return (attacks(index & 63, 1L << strongKing | 1L << weakKing) & 1L << weakKing) != 0;
+    }
+
+    private int successors(final int index, final int[] successors) {
+        final int strongKing = index >>> 12 & 63;
+        final int weakKing = index >>> 6 & 63;
+        final int piece = index & 63;
+        int count = 0;
+        if (index >>> 18 == 0) {
+            long targets = Attacks.kingAttacks(strongKing) & ~(1L << piece) & ~Attacks.kingAttacks(weakKing);
+            while (targets != 0) {
+                final int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                successors[count++] = Tablebase.index(1, to, weakKing, piece);
+            }
+            final long occupied = 1L << strongKing | 1L << weakKing;
+            if (type == PAWN) {
+                final int push = piece + 8;
+                if ((occupied & 1L << push) == 0) {
+                    if (push >= 56) {
+                        successors[count++] = QUEEN_TABLE | Tablebase.index(1, strongKing, weakKing, push);
+                        successors[count++] = ROOK_TABLE | Tablebase.index(1, strongKing, weakKing, push);
+                        successors[count++] = TERMINAL_DRAW;
+                    } else {
+                        successors[count++] = Tablebase.index(1, strongKing, weakKing, push);
+                        if (piece < 16 && (occupied & 1L << push + 8) == 0) {
+                            successors[count++] = Tablebase.index(1, strongKing, weakKing, push + 8);
+                        }
+                    }
+                }
+            } else {
+                targets = attacks(piece, occupied) & ~occupied;
+                while (targets != 0) {
+                    final int to = Long.numberOfTrailingZeros(targets);
+                    targets &= targets - 1;
+                    successors[count++] = Tablebase.index(1, strongKing, weakKing, to);
+                }
+            }
+        } else {
+            long targets = Attacks.kingAttacks(weakKing) & ~Attacks.kingAttacks(strongKing) &
+                    ~attacks(piece, 1L << strongKing | 1L << piece);
+            while (targets != 0) {
+                final int to = Long.numberOfTrailingZeros(targets);
+                targets &= targets - 1;
+                successors[count++] = to == piece ? TERMINAL_DRAW : Tablebase.index(0, strongKing, to, piece);
+            }
+        }
+        return count;
+    }
+
+    private long attacks(final int square, final long occupied) {
+        return switch (type) {
+            case PAWN -> Attacks.pawnAttacks(true, square);
+            case ROOK -> Attacks.rookAttacks(square, occupied);
+            default -> Attacks.queenAttacks(square, occupied);
+        };
+    }
+
+    public static void main(String[] args) throws IOException {
+        final Path directory = Path.of(args.length > 0 ? args[0] : "tablebases");
+        Files.createDirectories(directory);
+        final TablebaseGenerator queen = generate(QUEEN, null, null);
+        final TablebaseGenerator rook = generate(ROOK, null, null);
+        final TablebaseGenerator pawn = generate(PAWN, queen, rook);
+        for (TablebaseGenerator generator : new TablebaseGenerator[]{queen, rook, pawn}) {
+            final Path path = directory.resolve(Tablebase.fileName(generator.type));
+            generator.write(path);
+            System.out.printf("%s: %d wins, %d draws, %d losses, longest %d plies%n", path, generator.count(WIN),
+                    generator.count(DRAW), generator.count(LOSS), generator.passes());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.gmail.vusketta.tablebase;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.Turn;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.Cell;
+import com.gmail.vusketta.metrics.Metrics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Tablebases {
+    private static final Cell[] EXTRA_PIECES = {
+            Cell.WHITE_QUEEN, Cell.BLACK_QUEEN, Cell.WHITE_ROOK, Cell.BLACK_ROOK, Cell.WHITE_PAWN, Cell.BLACK_PAWN,
+            Cell.WHITE_KNIGHT, Cell.BLACK_KNIGHT, Cell.WHITE_BISHOP, Cell.BLACK_BISHOP
+    };
+
+    private final Tablebase[] tables = new Tablebase[6];
+    private final Map<Long, TablebaseEntry> cache;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    public Tablebases(final Path directory) {
+        this(directory, 1 << 16);
+    }
+
+    public Tablebases(final Path directory, final int cacheSize) {
+        for (int type = 0; type < 5; type++) {
+            final Path path = directory.resolve(Tablebase.fileName(type));
+            if (Files.isRegularFile(path)) tables[type] = new Tablebase(path);
+        }
+        cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, TablebaseEntry> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    public Optional<Wdl> probeWdl(final Position position) {
+        return probe(position).map(TablebaseEntry::wdl);
+    }
+
+    public Optional<TablebaseEntry> probe(final Position position) {
+        final long white = position.getPieces(Cell.WHITE_KING);
+        final long black = position.getPieces(Cell.BLACK_KING);
+        Cell extra = null;
+        int pieces = 2;
+        for (Cell cell : EXTRA_PIECES) {
+            final long bits = position.getPieces(cell);
+            if (bits == 0) continue;
+            pieces += Long.bitCount(bits);
+            extra = cell;
+        }
+        if (pieces == 2) return Optional.of(TablebaseEntry.of(Wdl.DRAW, 0));
+        if (pieces != 3) return Optional.empty();
+        final int type = extra.ordinal() >> 1;
+        if (type == 2 || type == 3) return Optional.of(TablebaseEntry.of(Wdl.DRAW, 0));
+        final Tablebase table = tables[type];
+        if (table == null) return Optional.empty();
+
+        probes.increment();
+        final long key = position.getZobristKey();
+        synchronized (cache) {
+            final TablebaseEntry cached = cache.get(key);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+        }
+        final boolean whiteIsStrong = extra.isWhite();
+        final int flip = whiteIsStrong ? 0 : 56;
+        final int strongKing = Long.numberOfTrailingZeros(whiteIsStrong ? white : black) ^ flip;
+        final int weakKing = Long.numberOfTrailingZeros(whiteIsStrong ? black : white) ^ flip;
+        final int piece = Long.numberOfTrailingZeros(position.getPieces(extra)) ^ flip;
+        final int sideToMove = (position.getTurn() == Turn.WHITE) == whiteIsStrong ? 0 : 1;
+        final int index = Tablebase.index(sideToMove, strongKing, weakKing, piece);
+        final TablebaseEntry entry = TablebaseEntry.of(table.wdl(index), table.plies(index));
+        synchronized (cache) {
+            cache.put(key, entry);
+        }
+        return Optional.of(entry);
+    }
+
+    public Optional<Move> bestMove(final Position position) {
+        if (probe(position).isEmpty()) return Optional.empty();
+        final Board board = new BitBoard(position.getFen());
+        Metrics.BOARD_COPIES.increment();
+        Move best = null;
+        int bestScore = Integer.MIN_VALUE;
+        for (Move move : board.getPosition().legalMoves()) {
+            board.makeMove(move, false);
+            final Optional<TablebaseEntry> entry = probe(board.getPosition());
+            board.unmakeMove();
+            if (entry.isEmpty()) continue;
+            final int score = switch (entry.get().wdl()) {
+                case LOSS -> 1000 - entry.get().plies();
+                case DRAW -> 0;
+                case WIN -> entry.get().plies() - 1000;
+            };
+            if (score > bestScore) {
+                bestScore = score;
+                best = move;
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public long probes() {
+        return probes.sum();
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public double hitRate() {
+        final long probes = probes();
+        return probes == 0 ? 0 : (double) hits() / probes;
+    }
+}
@@ -0,0 +1,13 @@
+package com.gmail.vusketta.tablebase;
+
+public enum Wdl {
+    WIN, DRAW, LOSS;
+
+    public Wdl negate() {
+        return switch (this) {
+            case WIN -> LOSS;
+            case DRAW -> DRAW;
+            case LOSS -> WIN;
+        };
+    }
+}
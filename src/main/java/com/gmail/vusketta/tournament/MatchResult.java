@@ -0,0 +1,46 @@
+package com.gmail.vusketta.tournament;
+
+public record MatchResult(int wins, int draws, int losses, double seconds) {
+
+    public static MatchResult of(int wins, int draws, int losses, double seconds) {
+        return new MatchResult(wins, draws, losses, seconds);
+    }
+
+    public int games() {
+        return wins + draws + losses;
+    }
+
+    public double score() {
+        return (wins + draws / 2.0) / games();
+    }
+
+    public double eloDifference() {
+        return elo(score());
+    }
+
+    public double eloError() {
+        final double score = score();
+        final double variance = (wins * square(1 - score) + draws * square(0.5 - score) + losses * square(score)) / games();
+        final double margin = 1.96 * Math.sqrt(variance / games());
+        return (elo(score + margin) - elo(score - margin)) / 2;
+    }
+
+    public double gamesPerSecond() {
+        return games() / seconds;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("+%d =%d -%d  score %.3f  Elo %+.1f +/- %.1f  %.1f games/s",
+                wins, draws, losses, score(), eloDifference(), eloError(), gamesPerSecond());
+    }
+
+    private static double elo(final double score) {
+        final double clamped = Math.min(Math.max(score, 1e-6), 1 - 1e-6);
+        return -400 * Math.log10(1 / clamped - 1);
+    }
+
+    private static double square(final double x) {
+        return x * x;
+    }
+}
@@ -0,0 +1,225 @@
+package com.gmail.vusketta.tournament;
+
+import com.gmail.vusketta.AsyncGame;
+import com.gmail.vusketta.GameScheduler;
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.TwoPlayerGame;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.book.OpeningBook;
+import com.gmail.vusketta.metrics.Metrics;
+import com.gmail.vusketta.pgn.PgnWriter;
+import com.gmail.vusketta.players.AsyncPlayer;
+import com.gmail.vusketta.players.BookPlayer;
+import com.gmail.vusketta.players.EnginePool;
+import com.gmail.vusketta.players.Player;
+import com.gmail.vusketta.players.RandomPlayer;
+import com.gmail.vusketta.players.SearchLimits;
+import com.gmail.vusketta.players.SearchPlayer;
+import com.gmail.vusketta.players.StockfishPlayer;
+import com.gmail.vusketta.players.TablebasePlayer;
+import com.gmail.vusketta.storage.GameRecordWriter;
+import com.gmail.vusketta.storage.GameRecords;
+import com.gmail.vusketta.tablebase.Tablebases;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.function.Supplier;
+
+public class Tournament {
+    private final Supplier<Board> boards;
+    private final Supplier<Player> first;
+    private final Supplier<Player> second;
+    private final ExecutorService executor;
+    private final Tablebases tablebases;
+    private PgnWriter pgn;
+    private GameRecordWriter records;
+
+    public Tournament(final Supplier<Board> boards, final Supplier<Player> first, final Supplier<Player> second,
+                      final ExecutorService executor) {
+        this(boards, first, second, executor, null);
+    }
+
+    public Tournament(final Supplier<Board> boards, final Supplier<Player> first, final Supplier<Player> second,
+                      final ExecutorService executor, final Tablebases tablebases) {
+        this.boards = boards;
+        this.first = first;
+        this.second = second;
+        this.executor = executor;
+        this.tablebases = tablebases;
+    }
+
+    public void setPgnWriter(final PgnWriter pgn) {
+        this.pgn = pgn;
+    }
+
+    public void setGameRecordWriter(final GameRecordWriter records) {
+        this.records = records;
+    }
+
+    public MatchResult play(final int games) {
+        final long start = System.nanoTime();
+        final List<Future<Integer>> results = new ArrayList<>(games);
+        for (int game = 0; game < games; game++) {
+            final boolean firstIsWhite = game % 2 == 0;
+            results.add(executor.submit(() -> playGame(firstIsWhite)));
+        }
+        int wins = 0;
+        int draws = 0;
+        int losses = 0;
+        for (Future<Integer> result : results) {
+            switch (await(result)) {
+                case 1 -> wins++;
+                case 0 -> draws++;
+                default -> losses++;
+            }
+        }
+        return MatchResult.of(wins, draws, losses, (System.nanoTime() - start) / 1e9);
+    }
+
+    public MatchResult play(final int games, final GameScheduler scheduler) {
+        final long start = System.nanoTime();
+        final List<CompletableFuture<Integer>> results = new ArrayList<>(games);
+        for (int game = 0; game < games; game++) {
+            final boolean firstIsWhite = game % 2 == 0;
+            final Player firstPlayer = first.get();
+            final Player secondPlayer = second.get();
+            final Player white = firstIsWhite ? firstPlayer : secondPlayer;
+            final Player black = firstIsWhite ? secondPlayer : firstPlayer;
+            final AsyncGame asyncGame = scheduler.submit(boards.get(), AsyncPlayer.of(white), AsyncPlayer.of(black));
+            results.add(asyncGame.getResult().handle((result, failure) -> {
+                try {
+                    close(firstPlayer, secondPlayer);
+                } catch (Exception e) {
+                    if (failure == null) throw new CompletionException(e);
+                }
+                if (failure != null) throw new CompletionException(failure);
+                return record(white, black, asyncGame.getStartFen(), asyncGame.getMoves(), result, firstIsWhite);
+            }));
+        }
+        int wins = 0;
+        int draws = 0;
+        int losses = 0;
+        for (CompletableFuture<Integer> result : results) {
+            switch (await(result)) {
+                case 1 -> wins++;
+                case 0 -> draws++;
+                default -> losses++;
+            }
+        }
+        return MatchResult.of(wins, draws, losses, (System.nanoTime() - start) / 1e9);
+    }
+
+    private int playGame(final boolean firstIsWhite) throws Exception {
+        final Player firstPlayer = first.get();
+        final Player secondPlayer = second.get();
+        try {
+            final Player white = firstIsWhite ? firstPlayer : secondPlayer;
+            final Player black = firstIsWhite ? secondPlayer : firstPlayer;
+            final TwoPlayerGame game = new TwoPlayerGame(boards.get(), white, black, tablebases);
+            final int result = game.play(false);
+            return record(white, black, game.getStartFen(), game.getMoves(), result, firstIsWhite);
+        } finally {
+            close(firstPlayer, secondPlayer);
+        }
+    }
+
+    private int record(final Player white, final Player black, final String startFen, final List<Move> moves,
+                       final int result, final boolean firstIsWhite) {
+        final int record = switch (result) {
+            case 1 -> GameRecords.WHITE_WINS;
+            case 2 -> GameRecords.BLACK_WINS;
+            default -> GameRecords.DRAW;
+        };
+        if (pgn != null) {
+            pgn.write(Map.of("Event", "Tournament", "White", white.getClass().getSimpleName(),
+                    "Black", black.getClass().getSimpleName()), startFen, moves, GameRecords.pgnResult(record));
+        }
+        if (records != null) records.write(startFen, moves, record);
+        return switch (result) {
+            case 0 -> 0;
+            case 1 -> firstIsWhite ? 1 : -1;
+            case 2 -> firstIsWhite ? -1 : 1;
+            default -> throw new AssertionError("Unknown result " + result);
+        };
+    }
+
+    private static void close(final Player firstPlayer, final Player secondPlayer) throws Exception {
+        if (firstPlayer instanceof AutoCloseable closeable) closeable.close();
+        if (secondPlayer instanceof AutoCloseable closeable) closeable.close();
+    }
+
+    private static int await(final Future<Integer> result) {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Game failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a game", e);
+        }
+    }
+
+    public static void main(String[] args) {
+        final TournamentOptions options = TournamentOptions.parse(args, System.getProperties());
+        final Tablebases tablebases = options.tablebasePath() == null ? null : new Tablebases(options.tablebasePath());
+        Metrics.registerFlightRecorderEvent();
+        final ScheduledFuture<?> reporter = options.metricsPeriod() == null ? null
+                : Metrics.report(options.metricsPeriod(), System.out::print);
+        try (EnginePool pool = new EnginePool();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+             PgnWriter pgn = options.pgnPath() == null ? null : new PgnWriter(options.pgnPath());
+             GameRecordWriter records = options.gamesPath() == null ? null : new GameRecordWriter(options.gamesPath())) {
+            final Tournament tournament = new Tournament(BitBoard::new, players(options.first(), options, pool, tablebases),
+                    players(options.second(), options, pool, tablebases), executor, tablebases);
+            tournament.setPgnWriter(pgn);
+            tournament.setGameRecordWriter(records);
+            final MatchResult result = play(tournament, options, tablebases);
+            System.out.println(options.first() + " vs " + options.second() + ": " + result);
+            if (tablebases != null) {
+                System.out.printf("tablebase probes %d hits %d (%.1f%%)%n",
+                        tablebases.probes(), tablebases.hits(), 100 * tablebases.hitRate());
+            }
+        }
+        if (reporter != null) {
+            reporter.cancel(false);
+            System.out.print(Metrics.snapshot());
+        }
+    }
+
+    private static MatchResult play(final Tournament tournament, final TournamentOptions options,
+                                    final Tablebases tablebases) {
+        if (options.threads() == 0) return tournament.play(options.games());
+        try (GameScheduler scheduler = new GameScheduler(options.threads(), tablebases)) {
+            return tournament.play(options.games(), scheduler);
+        }
+    }
+
+    private static Supplier<Player> players(final String name, final TournamentOptions options, final EnginePool pool,
+                                            final Tablebases tablebases) {
+        if (name.startsWith("book:")) {
+            final OpeningBook book = new OpeningBook(options.bookPath());
+            final Supplier<Player> fallback = players(name.substring(5), options, pool, tablebases);
+            return () -> new BookPlayer(book, fallback.get());
+        }
+        if (name.startsWith("tb:")) {
+            if (tablebases == null) throw new IllegalArgumentException("Set -Dtablebase.path to use " + name);
+            final Supplier<Player> fallback = players(name.substring(3), options, pool, tablebases);
+            return () -> new TablebasePlayer(tablebases, fallback.get());
+        }
+        return switch (name) {
+            case "random" -> RandomPlayer::new;
+            case "search" -> () -> new SearchPlayer(SearchLimits.moveTime(50));
+            case "stockfish" -> () -> new StockfishPlayer(pool, SearchLimits.moveTime(100));
+            default -> throw new IllegalArgumentException("Unknown player " + name);
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.gmail.vusketta.tournament;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+public record TournamentOptions(int games, String first, String second, Path tablebasePath, Duration metricsPeriod,
+                                Path pgnPath, Path gamesPath, int threads, Path bookPath) {
+
+    public TournamentOptions {
+        if (games <= 0) throw new IllegalArgumentException("Number of games must be positive: " + games);
+        if (threads < 0) throw new IllegalArgumentException("Number of threads must not be negative: " + threads);
+    }
+
+    public static TournamentOptions parse(final String[] args, final Properties properties) {
+        final String metricsPeriod = properties.getProperty("metrics.period");
+        final String threads = properties.getProperty("tournament.threads");
+        return new TournamentOptions(
+                args.length > 0 ? Integer.parseInt(args[0]) : 100,
+                args.length > 1 ? args[1] : "random",
+                args.length > 2 ? args[2] : "random",
+                path(properties, "tablebase.path"),
+                metricsPeriod == null ? null : Duration.ofSeconds(Long.parseLong(metricsPeriod)),
+                path(properties, "pgn.path"),
+                path(properties, "games.path"),
+                threads == null ? 0 : Integer.parseInt(threads),
+                Path.of(properties.getProperty("book.path", "book.bin")));
+    }
+
+    private static Path path(final Properties properties, final String key) {
+        final String value = properties.getProperty(key);
+        return value == null ? null : Path.of(value);
+    }
+}
@@ -0,0 +1,68 @@
+package com.gmail.vusketta.board;
+
+import com.gmail.vusketta.GameResult;
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardRulesTest {
+    @Test
+    void bitBoardFollowsChessBoardRules() {
+        final Random random = new Random(42);
+        for (int game = 0; game < 20; game++) {
+            final Board expected = new ChessBoard();
+            final Board actual = new BitBoard();
+            GameResult result = GameResult.UNKNOWN;
+            while (result == GameResult.UNKNOWN) {
+                final Position position = expected.getPosition();
+                final String fen = position.getFen();
+                final List<Move> moves = position.legalMoves();
+                assertEquals(new HashSet<>(moves), new HashSet<>(actual.getPosition().legalMoves()), fen);
+                assertEquals(position.isInCheck(), actual.getPosition().isInCheck(), fen);
+                for (Move move : moves) assertTrue(actual.getPosition().isValid(move), move + " at " + fen);
+
+                final Move move = moves.get(random.nextInt(moves.size()));
+                checkUnmake(expected, move);
+                checkUnmake(actual, move);
+                result = expected.makeMove(move, true);
+                assertEquals(result, actual.makeMove(move, true), move + " at " + fen);
+                assertEquals(expected.getPosition().getFen(), actual.getPosition().getFen());
+                assertEquals(expected.getPosition().getZobristKey(), actual.getPosition().getZobristKey());
+                assertEquals(expected.getPosition().getPawnKey(), actual.getPosition().getPawnKey());
+                assertEquals(expected.getPosition().getEvaluation(), actual.getPosition().getEvaluation());
+            }
+        }
+    }
+
+    @Test
+    void fenWithoutKingsIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard("4k3/8/8/8/8/8/8/8 w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> new ChessBoard("4k3/8/8/8/8/8/8/3KK3 w - - 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard("P3k3/8/8/8/8/8/8/4K3 w - - 0 1"));
+    }
+
+    @Test
+    void fenWithBadEnPassantIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard("4k3/8/8/8/8/8/8/4K3 w - e"));
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard("4k3/8/8/8/4P3/8/8/4K3 w - e3 0 1"));
+        assertThrows(IllegalArgumentException.class, () -> new ChessBoard("4k3/8/8/3p4/8/8/8/4K3 b - d6 0 1"));
+        assertEquals(43, Fen.parse("4k3/8/8/3pP3/8/8/8/4K3 w - d6 0 1").enPassant());
+    }
+
+    private static void checkUnmake(final Board board, final Move move) {
+        final String fen = board.getPosition().getFen();
+        final long key = board.getPosition().getZobristKey();
+        board.makeMove(move, false);
+        board.unmakeMove();
+        assertEquals(fen, board.getPosition().getFen(), "unmake of " + move);
+        assertEquals(key, board.getPosition().getZobristKey(), "unmake of " + move);
+    }
+}
@@ -0,0 +1,52 @@
+package com.gmail.vusketta.board;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Turn;
+import com.gmail.vusketta.perft.Perft;
+import com.gmail.vusketta.perft.PerftSuite;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PositionSnapshotTest {
+    @Test
+    void snapshotsFollowBoardsInLockstep() {
+        for (PerftSuite.PerftCase perftCase : PerftSuite.CASES) {
+            final Board bitBoard = new BitBoard(perftCase.fen());
+            assertEquals(perftCase.nodes()[2], Perft.verifySnapshot(bitBoard, bitBoard.getPosition().snapshot(), 3));
+            final Board chessBoard = new ChessBoard(perftCase.fen());
+            assertEquals(perftCase.nodes()[1], Perft.verifySnapshot(chessBoard, chessBoard.getPosition().snapshot(), 2));
+        }
+    }
+
+    @Test
+    void repetitionIsSeenThroughParentsAndBoardHistory() {
+        final String[] shuffle = {"g1f3", "g8f6", "f3g1", "f6g8", "g1f3", "g8f6", "f3g1", "f6g8"};
+        PositionSnapshot snapshot = PositionSnapshot.of(BoardUtils.INITIAL_FEN);
+        final Board board = new BitBoard();
+        for (int i = 0; i < shuffle.length; i++) {
+            final Move move = Move.fromUci(shuffle[i], snapshot.getTurn());
+            snapshot = snapshot.play(move);
+            board.makeMove(move, false);
+            final boolean isLast = i == shuffle.length - 1;
+            assertEquals(isLast, snapshot.isDrawByRule(), "ply " + i);
+            assertEquals(isLast, board.getPosition().snapshot().isDrawByRule(), "ply " + i);
+        }
+    }
+
+    @Test
+    void equalPositionsHaveEqualSnapshots() {
+        final PositionSnapshot initial = PositionSnapshot.of(BoardUtils.INITIAL_FEN);
+        final PositionSnapshot transposed = initial.play(Move.fromUci("g1f3", initial.getTurn()))
+                .play(Move.fromUci("g8f6", Turn.BLACK))
+                .play(Move.fromUci("f3g1", Turn.WHITE))
+                .play(Move.fromUci("f6g8", Turn.BLACK));
+        assertEquals(initial, transposed);
+        assertEquals(initial.hashCode(), transposed.hashCode());
+        assertEquals(initial, new ChessBoard().getPosition().snapshot());
+        assertFalse(initial.equals(initial.play(Move.fromUci("e2e4", initial.getTurn()))));
+        assertTrue(transposed.getHalfmoveClock() == 4 && initial.getHalfmoveClock() == 0);
+    }
+}
@@ -0,0 +1,48 @@
+package com.gmail.vusketta.book;
+
+import com.gmail.vusketta.board.BitBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OpeningBookTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsEntriesKeyedByPolyglotHash() throws IOException {
+        final ByteBuffer entries = ByteBuffer.allocate(2 * OpeningBook.ENTRY_BYTES)
+                .putLong(0x463B96181691FC9CL).putShort((short) 0x031C).putShort((short) 3).putInt(0)
+                .putLong(0x463B96181691FC9CL).putShort((short) 0x02DB).putShort((short) 1).putInt(0);
+        final Path path = directory.resolve("polyglot.bin");
+        Files.write(path, entries.array());
+
+        final List<BookEntry> found = new OpeningBook(path).entries(new BitBoard().getPosition());
+        assertEquals(List.of("e2e4 3", "d2d4 1"), found.stream().map(e -> e.move().toUci() + " " + e.weight()).toList());
+    }
+
+    @Test
+    void builtBooksUsePolyglotKeys() throws IOException {
+        final BookBuilder builder = new BookBuilder();
+        builder.addLine("e2e4 e7e5 g1f3", 16);
+        builder.addLine("e2e4 c7c5", 16);
+        final Path path = directory.resolve("built.bin");
+        assertEquals(4, builder.write(path));
+
+        final ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path));
+        final List<Long> keys = IntStream.range(0, 4).mapToObj(i -> bytes.getLong(i * OpeningBook.ENTRY_BYTES)).toList();
+        assertTrue(keys.contains(0x463B96181691FC9CL));
+        assertTrue(keys.contains(0x823C9B50FD114196L));
+        assertEquals(List.of("e2e4 2"), new OpeningBook(path).entries(new BitBoard().getPosition()).stream()
+                .map(e -> e.move().toUci() + " " + e.weight()).toList());
+    }
+}
@@ -0,0 +1,40 @@
+package com.gmail.vusketta.book;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.ChessBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PolyglotKeyTest {
+    private static final String[] LINES = {
+            "", "e2e4", "e2e4 d7d5", "e2e4 d7d5 e4e5", "e2e4 d7d5 e4e5 f7f5", "e2e4 d7d5 e4e5 f7f5 e1e2",
+            "e2e4 d7d5 e4e5 f7f5 e1e2 e8f7", "a2a4 b7b5 h2h4 b5b4 c2c4", "a2a4 b7b5 h2h4 b5b4 c2c4 b4c3 a1a3"
+    };
+    private static final long[] KEYS = {
+            0x463B96181691FC9CL, 0x823C9B50FD114196L, 0x0756B94461C50FB0L, 0x662FAFB965DB29D4L,
+            0x22A48B5A8E47FF78L, 0x652A607CA3F242C1L, 0x00FDD303C946BDD9L, 0x3C8123EA7B067637L,
+            0x5C3F9B829B279560L
+    };
+
+    @Test
+    void matchesPolyglotReferenceKeys() {
+        check(BitBoard::new);
+        check(ChessBoard::new);
+    }
+
+    private static void check(final Supplier<Board> boards) {
+        for (int i = 0; i < LINES.length; i++) {
+            final Board board = boards.get();
+            for (String move : LINES[i].split(" ")) {
+                if (!move.isEmpty()) board.makeMove(Move.fromUci(move, board.getPosition().getTurn()), false);
+            }
+            assertEquals(KEYS[i], PolyglotKey.compute(board.getPosition()), LINES[i]);
+            assertEquals(KEYS[i], PolyglotKey.compute(board.getPosition().snapshot()), LINES[i]);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.gmail.vusketta.perft;
+
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.ChessBoard;
+import com.gmail.vusketta.board.PositionSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PerftTest {
+    private static final long MAX_NODES = 500_000;
+
+    @Test
+    void bitBoardMatchesSuite() {
+        checkSuite(BitBoard::new);
+    }
+
+    @Test
+    void chessBoardMatchesSuite() {
+        checkSuite(ChessBoard::new);
+    }
+
+    @Test
+    void snapshotMatchesSuite() {
+        for (PerftSuite.PerftCase perftCase : PerftSuite.CASES) {
+            for (int depth = 1; depth <= perftCase.nodes().length; depth++) {
+                final long expected = perftCase.nodes()[depth - 1];
+                if (expected > MAX_NODES) break;
+                assertEquals(expected, Perft.perft(PositionSnapshot.of(perftCase.fen()), depth),
+                        perftCase.name() + " depth " + depth);
+            }
+        }
+    }
+
+    @Test
+    void incrementalKeysMatchRecompute() {
+        for (PerftSuite.PerftCase perftCase : PerftSuite.CASES) {
+            assertEquals(perftCase.nodes()[2], Perft.verifyZobrist(new BitBoard(perftCase.fen()), 3), perftCase.name());
+            assertEquals(perftCase.nodes()[1], Perft.verifyZobrist(new ChessBoard(perftCase.fen()), 2), perftCase.name());
+        }
+    }
+
+    private static void checkSuite(final Function<String, Board> boards) {
+        for (PerftSuite.PerftCase perftCase : PerftSuite.CASES) {
+            for (int depth = 1; depth <= perftCase.nodes().length; depth++) {
+                final long expected = perftCase.nodes()[depth - 1];
+                if (expected > MAX_NODES) break;
+                assertEquals(expected, Perft.perft(boards.apply(perftCase.fen()), depth),
+                        perftCase.name() + " depth " + depth);
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.gmail.vusketta.pgn;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.perft.PerftSuite;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PgnRoundTripTest {
+    private static final String BLACK_TO_MOVE = "rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1";
+
+    @Test
+    void randomGamesSurviveWriteAndRead() {
+        final SplittableRandom random = new SplittableRandom(11);
+        final List<String> fens = new ArrayList<>();
+        final List<List<Move>> games = new ArrayList<>();
+        final StringWriter text = new StringWriter();
+        try (PgnWriter writer = new PgnWriter(text)) {
+            for (int game = 0; game < 60; game++) {
+                final String fen = game % 2 == 0 ? BLACK_TO_MOVE : PerftSuite.CASES.get(game % PerftSuite.CASES.size()).fen();
+                final Board board = new BitBoard(fen);
+                final List<Move> moves = new ArrayList<>();
+                for (int ply = 0; ply < 120; ply++) {
+                    final List<Move> legal = board.getPosition().legalMoves();
+                    if (legal.isEmpty()) break;
+                    final Move move = legal.get(random.nextInt(legal.size()));
+                    board.makeMove(move, false);
+                    moves.add(move);
+                }
+                writer.write(Map.of("Event", "Club \"Open\" \\ " + game), fen, moves, "*");
+                fens.add(fen);
+                games.add(moves);
+            }
+        }
+
+        try (PgnReader reader = new PgnReader(new StringReader(text.toString()))) {
+            for (int game = 0; game < games.size(); game++) {
+                final PgnGame read = reader.next();
+                assertEquals("Club \"Open\" \\ " + game, read.tag("Event"));
+                assertEquals(fens.get(game), read.startFen());
+                assertEquals(games.get(game), read.replay(new BitBoard(read.startFen())));
+            }
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void disambiguatesByFileRankAndSquare() {
+        final Board rooks = new BitBoard("7k/8/8/R7/8/7K/8/R6R w - - 0 1");
+        assertSan(rooks, "a1d1", "Rad1");
+        assertSan(rooks, "h1d1", "Rhd1");
+        assertSan(rooks, "a1a3", "R1a3");
+        assertSan(rooks, "a5a3", "R5a3");
+        final Board queens = new BitBoard("8/7k/8/8/8/Q7/8/Q1Q1K3 w - - 0 1");
+        assertSan(queens, "a1b2", "Qa1b2");
+        assertSan(queens, "a3b2", "Q3b2");
+        assertSan(queens, "c1b2", "Qcb2");
+    }
+
+    @Test
+    void promotionsWithAndWithoutEqualsSign() {
+        final Board board = new BitBoard("7k/P7/8/8/8/8/8/K7 w - - 0 1");
+        assertSan(board, "a7a8q", "a8=Q+");
+        assertEquals("a7a8q", San.fromSan(board.getPosition(), "a8Q").toUci());
+        assertEquals("a7a8n", San.fromSan(board.getPosition(), "a8=N").toUci());
+        assertEquals("a7a8r", San.fromSan(board.getPosition(), "a8R").toUci());
+    }
+
+    @Test
+    void castlingWithLettersOrZeros() {
+        final Board board = new BitBoard("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        assertSan(board, "e1c1", "O-O-O");
+        assertSan(board, "e1g1", "O-O");
+        assertEquals("e1c1", San.fromSan(board.getPosition(), "0-0-0").toUci());
+        assertEquals("e1g1", San.fromSan(board.getPosition(), "0-0").toUci());
+    }
+
+    @Test
+    void explicitPawnLetterIsAccepted() {
+        final Board board = new BitBoard();
+        assertEquals("e2e4", San.fromSan(board.getPosition(), "Pe4").toUci());
+        board.makeMove(Move.fromUci("e2e4", board.getPosition().getTurn()), false);
+        board.makeMove(Move.fromUci("d7d5", board.getPosition().getTurn()), false);
+        assertEquals("e4d5", San.fromSan(board.getPosition(), "Pexd5").toUci());
+    }
+
+    @Test
+    void readerSkipsCommentsVariationsAndNags() {
+        final String pgn = """
+                [Event "Club \\"Open\\""]
+                [Site "C:\\\\chess"]
+                [SetUp "1"]
+                [FEN "%s"]
+
+                1... e5 {a comment that
+                spans ( lines ) and [brackets]} 2. Nf3 $1 (2. f4 exf4 (2... d5 3. exd5) 3. Nf3)
+                2... Nc6 ; the rest of this line is ignored 3. Bb5
+                3. Bb5!? a6 1-0
+
+                [Event "Next"]
+
+                1. d4 *
+                """.formatted(BLACK_TO_MOVE);
+        try (PgnReader reader = new PgnReader(new StringReader(pgn))) {
+            final PgnGame game = reader.next();
+            assertEquals("Club \"Open\"", game.tag("Event"));
+            assertEquals("C:\\chess", game.tag("Site"));
+            assertEquals(List.of("e5", "Nf3", "Nc6", "Bb5!?", "a6"), game.moves());
+            assertEquals("1-0", game.result());
+            assertEquals(5, game.replay(new BitBoard(game.startFen())).size());
+
+            final PgnGame next = reader.next();
+            assertEquals("Next", next.tag("Event"));
+            assertEquals(List.of("d4"), next.moves());
+            assertEquals(BoardUtils.INITIAL_FEN, next.startFen());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void writerNumbersBlackFirstMoves() {
+        final Board board = new BitBoard(BLACK_TO_MOVE);
+        final List<Move> moves = new ArrayList<>();
+        for (String uci : new String[]{"e7e5", "g1f3", "b8c6"}) {
+            final Move move = Move.fromUci(uci, board.getPosition().getTurn());
+            board.makeMove(move, false);
+            moves.add(move);
+        }
+        final StringWriter text = new StringWriter();
+        try (PgnWriter writer = new PgnWriter(text)) {
+            writer.write(Map.of(), BLACK_TO_MOVE, moves, "*");
+        }
+        assertTrue(text.toString().contains("\n1... e5 2. Nf3 Nc6 *\n"), text.toString());
+    }
+
+    private static void assertSan(final Board board, final String uci, final String san) {
+        final Move move = Move.fromUci(uci, board.getPosition().getTurn());
+        assertEquals(san, San.toSan(board, move));
+        assertEquals(move, San.fromSan(board.getPosition(), san));
+    }
+}
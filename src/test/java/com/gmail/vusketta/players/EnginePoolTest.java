@@ -0,0 +1,95 @@
+package com.gmail.vusketta.players;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.Position;
+import com.gmail.vusketta.board.BitBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EnginePoolTest {
+    private static final Duration DEADLINE = Duration.ofSeconds(20);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void leaseStartsAndReturnsEngines() {
+        try (EnginePool pool = new EnginePool(MockEngine.path(), 2, 2_000)) {
+            try (EnginePool.Lease first = pool.lease(); EnginePool.Lease second = pool.lease()) {
+                assertTrue(first.engine().isAlive());
+                assertTrue(second.engine().isAlive());
+                assertEquals(0, pool.available());
+            }
+            assertEquals(2, pool.available());
+            assertEquals(0, pool.restarts());
+        }
+    }
+
+    @Test
+    void bothPlayersOfAGameShareASingleEngine() {
+        try (EnginePool pool = new EnginePool(MockEngine.path(), 1, 2_000);
+             StockfishPlayer white = new StockfishPlayer(pool, SearchLimits.nodes(1));
+             StockfishPlayer black = new StockfishPlayer(pool, SearchLimits.nodes(1))) {
+            final Position position = new BitBoard().getPosition();
+            assertTimeoutPreemptively(DEADLINE, () -> {
+                for (int i = 0; i < 5; i++) {
+                    assertEquals("e2e4", white.makeMove(position).toUci());
+                    assertEquals("e2e4", black.makeMove(position).toUci());
+                    assertEquals("e2e4", black.requestMove(position).join().toUci());
+                    assertEquals("e2e4", white.requestMove(position).join().toUci());
+                }
+            });
+            assertEquals(1, pool.available());
+        }
+    }
+
+    @Test
+    void crashedEngineIsRestarted() {
+        try (EnginePool pool = new EnginePool(MockEngine.path(directory, "MOCK_CRASH_AFTER=3"), 1, 2_000);
+             StockfishPlayer player = new StockfishPlayer(pool, SearchLimits.nodes(1))) {
+            final Position position = new BitBoard().getPosition();
+            assertTimeoutPreemptively(DEADLINE, () -> {
+                for (int i = 0; i < 6; i++) assertEquals("e2e4", player.makeMove(position).toUci());
+                for (int i = 0; i < 6; i++) assertEquals("e2e4", player.requestMove(position).join().toUci());
+            });
+            assertTrue(pool.restarts() >= 2, "restarts " + pool.restarts());
+            assertEquals(1, pool.available());
+        }
+    }
+
+    @Test
+    void timedOutSearchIsRetriedOnAFreshLease() {
+        final String engine = MockEngine.path(directory, "MOCK_DELAY=1 MOCK_DELAY_SEARCHES=1 MOCK_MOVES='e2e4 d2d4'");
+        try (EnginePool pool = new EnginePool(engine, 1, 300);
+             StockfishPlayer player = new StockfishPlayer(pool, SearchLimits.moveTime(10))) {
+            final Position position = new BitBoard().getPosition();
+            assertTimeoutPreemptively(DEADLINE, () -> assertEquals("d2d4", player.makeMove(position).toUci()));
+            assertEquals(1, pool.available());
+        }
+    }
+
+    @Test
+    void asyncRequestsAreMultiplexedOverThePool() {
+        try (EnginePool pool = new EnginePool(MockEngine.path(), 2, 2_000)) {
+            final Position position = new BitBoard().getPosition();
+            final List<CompletableFuture<Move>> moves = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                moves.add(new StockfishPlayer(pool, SearchLimits.nodes(1)).requestMove(position));
+            }
+            assertTimeoutPreemptively(DEADLINE, () -> {
+                for (CompletableFuture<Move> move : moves) assertEquals("e2e4", move.join().toUci());
+            });
+            assertEquals(2, pool.available());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.gmail.vusketta.players;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+final class MockEngine {
+    private static final Path SCRIPT = Path.of("src/main/engine/mock-uci.sh").toAbsolutePath();
+    private static final AtomicInteger COUNT = new AtomicInteger();
+
+    private MockEngine() {
+    }
+
+    static String path() {
+        return SCRIPT.toString();
+    }
+
+    static String path(final Path directory, final String environment) {
+        final Path wrapper = directory.resolve("mock-" + COUNT.incrementAndGet() + ".sh");
+        try {
+            Files.writeString(wrapper, "#!/bin/sh\n" + environment + " exec " + SCRIPT + "\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (!wrapper.toFile().setExecutable(true)) throw new IllegalStateException("can not chmod " + wrapper);
+        return wrapper.toString();
+    }
+}
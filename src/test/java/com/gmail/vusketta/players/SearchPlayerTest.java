@@ -0,0 +1,30 @@
+package com.gmail.vusketta.players;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.ChessBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchPlayerTest {
+    private static final String[] SHUFFLE = {"d1d2", "h8g8", "d2d1", "g8h8", "d1d2", "h8g8", "d2d1"};
+
+    @Test
+    void losingSideClaimsRepetitionFromGameHistory() {
+        check(() -> new BitBoard("7k/8/8/8/8/8/8/K2Q4 w - - 0 1"));
+        check(() -> new ChessBoard("7k/8/8/8/8/8/8/K2Q4 w - - 0 1"));
+    }
+
+    private static void check(final Supplier<Board> boards) {
+        final Board board = boards.get();
+        for (String move : SHUFFLE) board.makeMove(Move.fromUci(move, board.getPosition().getTurn()), false);
+        try (SearchPlayer player = new SearchPlayer(SearchLimits.depth(5))) {
+            assertEquals("g8h8", player.makeMove(board.getPosition()).toUci());
+            assertEquals(0, player.getLastResult().score());
+        }
+    }
+}
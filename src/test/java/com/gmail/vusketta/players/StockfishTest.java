@@ -0,0 +1,81 @@
+package com.gmail.vusketta.players;
+
+import com.gmail.vusketta.board.BoardUtils;
+import com.gmail.vusketta.exceptions.EngineIsNotResponding;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StockfishTest {
+    private static final String SLOW_FIRST_SEARCH = "MOCK_DELAY=1 MOCK_DELAY_SEARCHES=1 MOCK_MOVES='e2e4 d2d4'";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void answersBestMove() {
+        final Stockfish engine = new Stockfish(MockEngine.path(directory, "MOCK_BESTMOVE=g1f3"), 2_000);
+        try {
+            engine.startEngine();
+            assertEquals("g1f3", engine.getBestMove(BoardUtils.INITIAL_FEN, SearchLimits.nodes(1)));
+            assertEquals("g1f3", engine.bestMoveAsync(BoardUtils.INITIAL_FEN, SearchLimits.depth(1)).join());
+            assertTrue(engine.getLastInfo().startsWith("info depth 1"));
+        } finally {
+            engine.stopEngine();
+        }
+    }
+
+    @Test
+    void missingBestMoveNamesThePosition() {
+        final String fen = "7k/5Q2/6K1/8/8/8/8/8 b - - 0 1";
+        final Stockfish engine = new Stockfish(MockEngine.path(directory, "MOCK_BESTMOVE='(none)'"), 2_000);
+        try {
+            engine.startEngine();
+            final IllegalStateException failure = assertThrows(IllegalStateException.class,
+                    () -> engine.getBestMove(fen, SearchLimits.depth(1)));
+            assertTrue(failure.getMessage().contains(fen), failure.getMessage());
+            final CompletionException async = assertThrows(CompletionException.class,
+                    () -> engine.bestMoveAsync(fen, SearchLimits.depth(1)).join());
+            assertInstanceOf(IllegalStateException.class, async.getCause());
+            assertTrue(async.getCause().getMessage().contains(fen), async.getCause().getMessage());
+            assertTrue(engine.isAlive());
+        } finally {
+            engine.stopEngine();
+        }
+    }
+
+    @Test
+    void lateBestMoveAfterTimeoutIsDiscarded() {
+        final Stockfish engine = new Stockfish(MockEngine.path(directory, SLOW_FIRST_SEARCH), 300);
+        try {
+            engine.startEngine();
+            assertThrows(EngineIsNotResponding.class,
+                    () -> engine.getBestMove(BoardUtils.INITIAL_FEN, SearchLimits.moveTime(10)));
+            assertTrue(engine.isAlive());
+            assertEquals("d2d4", engine.getBestMove(BoardUtils.INITIAL_FEN, SearchLimits.moveTime(10)));
+        } finally {
+            engine.stopEngine();
+        }
+    }
+
+    @Test
+    void lateBestMoveAfterAsyncTimeoutIsDiscarded() {
+        final Stockfish engine = new Stockfish(MockEngine.path(directory, SLOW_FIRST_SEARCH), 300);
+        try {
+            engine.startEngine();
+            final CompletionException failure = assertThrows(CompletionException.class,
+                    () -> engine.bestMoveAsync(BoardUtils.INITIAL_FEN, SearchLimits.moveTime(10)).join());
+            assertInstanceOf(EngineIsNotResponding.class, failure.getCause());
+            assertEquals("d2d4", engine.bestMoveAsync(BoardUtils.INITIAL_FEN, SearchLimits.moveTime(10)).join());
+        } finally {
+            engine.stopEngine();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.gmail.vusketta.search;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.PositionSnapshot;
+import com.gmail.vusketta.players.SearchLimits;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SmpSearchTest {
+    private static final String[] SHUFFLE = {"g1f3", "g8f6", "f3g1", "f6g8", "g1f3", "g8f6", "f3g1"};
+
+    @Test
+    void stopBeforeStartIsNotLost() {
+        final Search search = new Search(new BitBoard());
+        search.stop();
+        final SearchResult result = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> search.search(SearchLimits.depth(60)));
+        assertEquals(0, result.depth());
+    }
+
+    @Test
+    void helpersAreJoinedAfterEverySearch() {
+        try (SmpSearch search = new SmpSearch(new TranspositionTable(16), 4)) {
+            final Board board = new BitBoard();
+            for (int i = 0; i < 20; i++) {
+                final SearchResult result = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                        () -> search.search(board.getPosition(), SearchLimits.moveTime(20)));
+                assertTrue(board.getPosition().legalMoves().contains(result.move()));
+                board.makeMove(result.move(), false);
+                if (board.getPosition().legalMoves().isEmpty() || board.getPosition().isDrawByRule()) break;
+            }
+        }
+    }
+
+    @Test
+    void boardsBuiltFromSnapshotsKeepHistory() {
+        final Board board = new BitBoard();
+        for (String move : SHUFFLE) board.makeMove(Move.fromUci(move, board.getPosition().getTurn()), false);
+        final PositionSnapshot snapshot = board.getPosition().snapshot();
+        final BitBoard copy = new BitBoard(snapshot);
+        assertEquals(snapshot.getFen(), copy.getFen());
+        assertEquals(snapshot.getZobristKey(), copy.getZobristKey());
+        copy.makeMove(Move.fromUci("f6g8", copy.getTurn()), false);
+        assertTrue(copy.isDrawByRule());
+    }
+}
@@ -0,0 +1,99 @@
+package com.gmail.vusketta.storage;
+
+import com.gmail.vusketta.Move;
+import com.gmail.vusketta.board.BitBoard;
+import com.gmail.vusketta.board.Board;
+import com.gmail.vusketta.board.BoardUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameRecordsTest {
+    private static final String START = "r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recordsSpanningMappedWindowsReadBack() {
+        final SplittableRandom random = new SplittableRandom(7);
+        final List<List<Move>> games = new ArrayList<>();
+        final List<String> fens = new ArrayList<>();
+        final Path gamesPath = directory.resolve("games.cgr");
+        final Path positionsPath = directory.resolve("positions.cpd");
+        try (GameRecordWriter gameWriter = new GameRecordWriter(gamesPath);
+             PositionDumpWriter positionWriter = new PositionDumpWriter(positionsPath)) {
+            for (int game = 0; game < 20; game++) {
+                final String startFen = game % 3 == 0 ? START : BoardUtils.INITIAL_FEN;
+                final Board board = new BitBoard(startFen);
+                final List<Move> moves = new ArrayList<>();
+                for (int ply = 0; ply < 40; ply++) {
+                    final List<Move> legal = board.getPosition().legalMoves();
+                    if (legal.isEmpty() || board.getPosition().isDrawByRule()) break;
+                    positionWriter.write(board.getPosition(), GameRecords.DRAW);
+                    fens.add(board.getPosition().getFen());
+                    final Move move = legal.get(random.nextInt(legal.size()));
+                    board.makeMove(move, false);
+                    moves.add(move);
+                }
+                gameWriter.write(startFen, moves, GameRecords.DRAW);
+                games.add(moves);
+            }
+        }
+
+        for (long window : new long[]{MappedFile.WINDOW_BYTES, 64, 37}) {
+            final GameRecordReader reader = new GameRecordReader(gamesPath, window);
+            for (List<Move> moves : games) {
+                assertTrue(reader.next());
+                assertEquals(moves.size(), reader.plies());
+                for (int ply = 0; ply < moves.size(); ply++) assertEquals(moves.get(ply).pack(), reader.move(ply));
+            }
+            assertFalse(reader.next());
+
+            final PositionDumpReader dump = new PositionDumpReader(positionsPath, window);
+            assertEquals(fens.size(), dump.size());
+            for (int i = 0; i < fens.size(); i++) {
+                assertEquals(withoutMoveNumber(fens.get(i)), withoutMoveNumber(new BitBoard(dump.fen(i)).getPosition().getFen()));
+            }
+        }
+    }
+
+    @Test
+    void positionDumpsLargerThanTwoGigabytesAreReadable() throws IOException {
+        final Path small = directory.resolve("one.cpd");
+        try (PositionDumpWriter writer = new PositionDumpWriter(small)) {
+            writer.write(new BitBoard(START).getPosition(), GameRecords.WHITE_WINS);
+        }
+        final byte[] bytes = Files.readAllBytes(small);
+        final int count = (int) ((3L << 30) / PositionDumpWriter.RECORD_BYTES);
+        final Path large = directory.resolve("large.cpd");
+        try (FileChannel channel = FileChannel.open(large, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE,
+                StandardOpenOption.SPARSE)) {
+            channel.write(ByteBuffer.wrap(bytes, 0, GameRecords.HEADER_BYTES), 0);
+            channel.write(ByteBuffer.wrap(bytes, GameRecords.HEADER_BYTES, PositionDumpWriter.RECORD_BYTES),
+                    GameRecords.HEADER_BYTES + (long) (count - 1) * PositionDumpWriter.RECORD_BYTES);
+        }
+
+        final PositionDumpReader reader = new PositionDumpReader(large);
+        assertEquals(count, reader.size());
+        assertEquals(new BitBoard(START).getPosition().getZobristKey(), reader.key(count - 1));
+        assertEquals(GameRecords.WHITE_WINS, reader.result(count - 1));
+    }
+
+    private static String withoutMoveNumber(final String fen) {
+        return fen.substring(0, fen.lastIndexOf(' '));
+    }
+}
@@ -0,0 +1,49 @@
+package com.gmail.vusketta.tablebase;
+
+import com.gmail.vusketta.board.BitBoard;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TablebasesTest {
+    private static final String KQK = "8/8/8/5k2/8/8/8/K2Q4 w - - 0 1";
+
+    @TempDir
+    static Path directory;
+
+    @BeforeAll
+    static void generate() {
+        final TablebaseGenerator queen = TablebaseGenerator.generate(TablebaseGenerator.QUEEN, null, null);
+        queen.write(directory.resolve(Tablebase.fileName(TablebaseGenerator.QUEEN)));
+    }
+
+    @Test
+    void bestMoveReusesCachedProbes() {
+        final Tablebases tablebases = new Tablebases(directory);
+        assertTrue(tablebases.bestMove(new BitBoard(KQK).getPosition()).isPresent());
+        final long probes = tablebases.probes();
+        assertTrue(probes > 0);
+        assertEquals(0, tablebases.hits());
+
+        assertTrue(tablebases.bestMove(new BitBoard(KQK).getPosition()).isPresent());
+        assertEquals(2 * probes, tablebases.probes());
+        assertEquals(probes, tablebases.hits());
+    }
+
+    @Test
+    void onlyTableLookupsCountAsProbes() {
+        final Tablebases tablebases = new Tablebases(directory);
+        assertEquals(Wdl.DRAW, tablebases.probeWdl(new BitBoard("8/8/8/3k4/8/8/8/K7 w - - 0 1").getPosition()).orElseThrow());
+        assertTrue(tablebases.probeWdl(new BitBoard("8/8/8/3k4/8/8/8/KR6 w - - 0 1").getPosition()).isEmpty());
+        assertTrue(tablebases.probeWdl(new BitBoard("8/8/8/3k4/8/8/8/KQQ5 w - - 0 1").getPosition()).isEmpty());
+        assertEquals(0, tablebases.probes());
+
+        assertEquals(Wdl.WIN, tablebases.probeWdl(new BitBoard(KQK).getPosition()).orElseThrow());
+        assertEquals(1, tablebases.probes());
+    }
+}
@@ -0,0 +1,53 @@
+package com.gmail.vusketta.tournament;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TournamentOptionsTest {
+    @Test
+    void defaults() {
+        final TournamentOptions options = TournamentOptions.parse(new String[0], new Properties());
+        assertEquals(100, options.games());
+        assertEquals("random", options.first());
+        assertEquals("random", options.second());
+        assertNull(options.tablebasePath());
+        assertNull(options.metricsPeriod());
+        assertNull(options.pgnPath());
+        assertNull(options.gamesPath());
+        assertEquals(0, options.threads());
+        assertEquals(Path.of("book.bin"), options.bookPath());
+    }
+
+    @Test
+    void argumentsAndProperties() {
+        final Properties properties = new Properties();
+        properties.setProperty("tablebase.path", "tb");
+        properties.setProperty("metrics.period", "5");
+        properties.setProperty("pgn.path", "games.pgn");
+        properties.setProperty("games.path", "games.cgr");
+        properties.setProperty("tournament.threads", "4");
+        properties.setProperty("book.path", "performance.bin");
+        final TournamentOptions options = TournamentOptions.parse(new String[]{"10", "book:search", "stockfish"}, properties);
+        assertEquals(10, options.games());
+        assertEquals("book:search", options.first());
+        assertEquals("stockfish", options.second());
+        assertEquals(Path.of("tb"), options.tablebasePath());
+        assertEquals(Duration.ofSeconds(5), options.metricsPeriod());
+        assertEquals(Path.of("games.pgn"), options.pgnPath());
+        assertEquals(Path.of("games.cgr"), options.gamesPath());
+        assertEquals(4, options.threads());
+        assertEquals(Path.of("performance.bin"), options.bookPath());
+    }
+
+    @Test
+    void rejectsNonPositiveGameCount() {
+        assertThrows(IllegalArgumentException.class, () -> TournamentOptions.parse(new String[]{"0"}, new Properties()));
+    }
+}